@@ -0,0 +1,100 @@
+-- Benchmark antes/depois dos índices do V1.6.0__add_foreign_key_and_filter_indexes.sql.
+-- Grava a mesma massa do QueryPlanRegressionTest (20 mil itens, 20 mil pedidos, 3 linhas por pedido), mede as
+-- consultas com EXPLAIN (ANALYZE, BUFFERS) sem os índices e depois de recriá-los, e desfaz tudo no ROLLBACK final.
+-- Executar contra um banco já migrado, ex.:
+--   docker compose exec -T db psql -U postgres -d assessment < docs/benchmark/V1.6.0__indexes.sql
+\set ON_ERROR_STOP on
+\pset pager off
+
+BEGIN;
+
+INSERT INTO dbo.item (id, name, type, status, price, created_at, updated_at)
+SELECT uuid_generate_v4(),
+       'Benchmark item ' || g,
+       CASE WHEN g % 2 = 0 THEN 'PRODUCT' ELSE 'SERVICE' END,
+       CASE WHEN g % 10 = 0 THEN 'DISABLED' ELSE 'ACTIVE' END,
+       10 + g % 990,
+       now(),
+       now()
+FROM generate_series(1, 20000) g;
+
+INSERT INTO dbo.order (id, status, discount, total, total_product, total_service, created_at, updated_at)
+SELECT uuid_generate_v4(),
+       CASE WHEN g % 5 = 0 THEN 'CLOSED' ELSE 'OPENED' END,
+       0,
+       g % 5000,
+       g % 5000,
+       0,
+       now(),
+       now()
+FROM generate_series(1, 20000) g;
+
+WITH o AS (SELECT id, ROW_NUMBER() OVER () AS rn FROM dbo.order),
+     i AS (SELECT id, price, ROW_NUMBER() OVER () AS rn FROM dbo.item)
+INSERT INTO dbo.order_items (id, order_id, item_id, item_price, amount, created_at, updated_at)
+SELECT uuid_generate_v4(), o.id, i.id, i.price, 1 + s, now(), now()
+FROM o
+         CROSS JOIN generate_series(0, 2) s
+         JOIN i ON i.rn = (o.rn * 3 + s) % 20000 + 1;
+
+-- Reproduz o SQL emitido pelos repositórios para cada caso coberto pelo V1.6.0. Cada consulta roda uma vez para
+-- aquecer o cache e a segunda execução é a reportada; as linhas "Execution Time" são o número a comparar.
+CREATE FUNCTION pg_temp.benchmark()
+    RETURNS TABLE (query TEXT, plan TEXT)
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    sample_order_id UUID := (SELECT id FROM dbo.order ORDER BY id OFFSET 10000 LIMIT 1);
+    sample_item_id  UUID := (SELECT id FROM dbo.item ORDER BY id OFFSET 10000 LIMIT 1);
+    queries         TEXT[][] := ARRAY [
+        ['linhas de um pedido (@OrderBy created_at)',
+         format('SELECT oi.* FROM dbo.order_items oi WHERE oi.order_id = %L ORDER BY oi.created_at',
+                sample_order_id)],
+        ['pedidos com item SERVICE (orderItems.any() -> EXISTS), primeira página por id',
+         'SELECT o.* FROM dbo.order o WHERE EXISTS (SELECT 1 FROM dbo.order_items oi JOIN dbo.item i ' ||
+         'ON i.id = oi.item_id WHERE oi.order_id = o.id AND i.type = ''SERVICE'') ORDER BY o.id LIMIT 20'],
+        ['item vinculado a pedido antes de excluir',
+         format('SELECT EXISTS (SELECT 1 FROM dbo.order_items oi WHERE oi.item_id = %L)', sample_item_id)],
+        ['itens DISABLED, página seguinte no keyset por id',
+         format('SELECT i.* FROM dbo.item i WHERE i.status = ''DISABLED'' AND i.id > %L ORDER BY i.id LIMIT 20',
+                sample_item_id)],
+        ['itens SERVICE, primeira página por id',
+         'SELECT i.* FROM dbo.item i WHERE i.type = ''SERVICE'' ORDER BY i.id LIMIT 20'],
+        ['pedidos CLOSED, página seguinte no keyset por id',
+         format('SELECT o.* FROM dbo.order o WHERE o.status = ''CLOSED'' AND o.id > %L ORDER BY o.id LIMIT 20',
+                sample_order_id)]
+        ];
+BEGIN
+    FOR n IN 1 .. array_length(queries, 1)
+        LOOP
+            EXECUTE 'EXPLAIN (ANALYZE) ' || queries[n][2];
+            FOR plan IN EXECUTE 'EXPLAIN (ANALYZE, BUFFERS) ' || queries[n][2]
+                LOOP
+                    query := queries[n][1];
+                    RETURN NEXT;
+                END LOOP;
+        END LOOP;
+END
+$$;
+
+DROP INDEX dbo.order_items_order_id_created_at_idx,
+    dbo.order_items_item_id_idx,
+    dbo.item_status_id_idx,
+    dbo.item_type_id_idx,
+    dbo.order_status_id_idx;
+ANALYZE dbo.item, dbo.order, dbo.order_items;
+
+\echo '==================== ANTES (sem os índices do V1.6.0) ===================='
+SELECT * FROM pg_temp.benchmark();
+
+CREATE INDEX order_items_order_id_created_at_idx ON dbo.order_items (order_id, created_at);
+CREATE INDEX order_items_item_id_idx ON dbo.order_items (item_id);
+CREATE INDEX item_status_id_idx ON dbo.item (status, id);
+CREATE INDEX item_type_id_idx ON dbo.item (type, id);
+CREATE INDEX order_status_id_idx ON dbo.order (status, id);
+ANALYZE dbo.item, dbo.order, dbo.order_items;
+
+\echo '==================== DEPOIS (com os índices do V1.6.0) ===================='
+SELECT * FROM pg_temp.benchmark();
+
+ROLLBACK;
@@ -1,5 +1,6 @@
 package com.senior.assessment.config;
 
+import com.senior.assessment.domain.cache.ItemCache;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -7,6 +8,7 @@ import jakarta.persistence.Table;
 import jakarta.persistence.metamodel.EntityType;
 import jakarta.persistence.metamodel.ManagedType;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,8 @@ public class DatabaseCleanupService implements InitializingBean {
 
     @PersistenceContext
     private EntityManager entityManager;
+    @Autowired
+    private ItemCache itemCache;
     private String juncaoTabelas;
 
     private final Pattern regexSnakeCase = Pattern.compile("(?<=[a-zA-Z])[A-Z]");
@@ -86,6 +90,7 @@ public class DatabaseCleanupService implements InitializingBean {
     public void truncate() {
         entityManager.createNativeQuery(String.format("TRUNCATE TABLE %s CASCADE", juncaoTabelas))
                 .executeUpdate();
+        itemCache.evictAll();
     }
 
 }
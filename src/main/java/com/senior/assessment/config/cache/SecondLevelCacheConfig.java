@@ -0,0 +1,51 @@
+package com.senior.assessment.config.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Cache de segundo nível do Hibernate (JCache/Caffeine). As regiões são criadas aqui com tamanho/TTL do
+// application.yml, em um CacheManager próprio do contexto: o Hibernate o fecha junto com a SessionFactory.
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.region.factory_class", havingValue = "jcache")
+public class SecondLevelCacheConfig {
+    public static final String ITEM_REGION = "item";
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${assessment.cache.hibernate.item.maximum-size:10000}") long itemMaximumSize,
+            @Value("${assessment.cache.hibernate.item.time-to-live:10m}") Duration itemTimeToLive) {
+        var cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        var cacheManager = cachingProvider.getCacheManager(URI.create("hibernate-" + UUID.randomUUID()),
+                cachingProvider.getDefaultClassLoader());
+        cacheManager.createCache(ITEM_REGION, configuration(itemMaximumSize, itemTimeToLive));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // private methods
+
+    // Por referência: o Hibernate já guarda o estado desmontado (imutável), sem custo de serialização por acesso
+    private static CaffeineConfiguration<Object, Object> configuration(long maximumSize, Duration timeToLive) {
+        return new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.senior.assessment.config.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// UUIDv7 (RFC 9562): 48 bits de timestamp em milissegundos seguidos de bits aleatórios, de modo que ids novos
+// ficam no fim dos índices de chave primária em vez de espalhados como no v4
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    public UuidV7Generator(UuidV7 config, Member idMember, CustomIdGeneratorCreationContext creationContext) {
+    }
+
+    public static UUID randomUuid() {
+        var random = ThreadLocalRandom.current();
+        var mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        var leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return randomUuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
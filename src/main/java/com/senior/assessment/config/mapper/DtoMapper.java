@@ -0,0 +1,122 @@
+package com.senior.assessment.config.mapper;
+
+import com.senior.assessment.domain.dto.item.ItemCreateUpdateDto;
+import com.senior.assessment.domain.dto.item.ItemDetailDto;
+import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
+import com.senior.assessment.domain.dto.order.createupdate.OrderItemDto;
+import com.senior.assessment.domain.dto.order.detailslist.OrderDetailDto;
+import com.senior.assessment.domain.dto.order.detailslist.OrderItemDetailDto;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.entity.OrderItem;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mapeamentos escritos à mão (sem reflexão) para os DTOs dos caminhos quentes. O ModelMapperService consulta este
+ * registro antes de recorrer ao ModelMapper.
+ */
+@Component
+public class DtoMapper {
+    private final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> mappers = new HashMap<>();
+
+    public DtoMapper() {
+        register(Item.class, ItemDetailDto.class, DtoMapper::toItemDetailDto);
+        register(ItemCreateUpdateDto.class, Item.class, DtoMapper::toItem);
+        register(Order.class, OrderDetailDto.class, DtoMapper::toOrderDetailDto);
+        register(OrderCreateUpdateDto.class, Order.class, DtoMapper::toOrder);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Function<Object, T> find(Class<?> sourceType, Class<T> targetType) {
+        var sourceMappers = mappers.get(sourceType);
+        return sourceMappers == null ? null : (Function<Object, T>) sourceMappers.get(targetType);
+    }
+
+    // private methods
+
+    @SuppressWarnings("unchecked")
+    private <S, T> void register(Class<S> sourceType, Class<T> targetType, Function<S, T> mapper) {
+        mappers.computeIfAbsent(sourceType, type -> new HashMap<>())
+                .put(targetType, (Function<Object, Object>) mapper);
+    }
+
+    private static ItemDetailDto toItemDetailDto(Item item) {
+        var itemDetailDto = new ItemDetailDto();
+        itemDetailDto.setId(item.getId());
+        itemDetailDto.setName(item.getName());
+        itemDetailDto.setType(item.getType());
+        itemDetailDto.setPrice(item.getPrice());
+        itemDetailDto.setStatus(item.getStatus());
+        itemDetailDto.setOrderLineCount(item.getOrderLineCount());
+        itemDetailDto.setCreatedDate(item.getCreatedDate());
+        itemDetailDto.setLastModifiedDate(item.getLastModifiedDate());
+        return itemDetailDto;
+    }
+
+    private static Item toItem(ItemCreateUpdateDto itemCreateUpdateDto) {
+        var item = new Item();
+        item.setName(itemCreateUpdateDto.getName());
+        item.setType(itemCreateUpdateDto.getType());
+        item.setPrice(itemCreateUpdateDto.getPrice());
+        item.setStatus(itemCreateUpdateDto.getStatus());
+        return item;
+    }
+
+    private static OrderDetailDto toOrderDetailDto(Order order) {
+        var orderItemsDetailDto = new ArrayList<OrderItemDetailDto>(order.getOrderItems().size());
+        for (var orderItem : order.getOrderItems())
+            orderItemsDetailDto.add(toOrderItemDetailDto(orderItem));
+
+        return OrderDetailDto.builder()
+                .id(order.getId())
+                .discount(order.getDiscount())
+                .status(order.getStatus())
+                .total(order.getTotal())
+                .totalProduct(order.getTotalProduct())
+                .totalService(order.getTotalService())
+                .orderItems(orderItemsDetailDto)
+                .build();
+    }
+
+    private static OrderItemDetailDto toOrderItemDetailDto(OrderItem orderItem) {
+        var orderItemDetailDto = new OrderItemDetailDto();
+        orderItemDetailDto.setId(orderItem.getId());
+        orderItemDetailDto.setAmount(orderItem.getAmount());
+        orderItemDetailDto.setItemPrice(orderItem.getItemPrice());
+        orderItemDetailDto.setCreatedDate(orderItem.getCreatedDate());
+        orderItemDetailDto.setLastModifiedDate(orderItem.getLastModifiedDate());
+        if (orderItem.getItem() != null) {
+            var itemDetailDto = new OrderItemDetailDto.ItemDetailDto();
+            itemDetailDto.setId(orderItem.getItem().getId());
+            itemDetailDto.setName(orderItem.getItem().getName());
+            itemDetailDto.setType(orderItem.getItem().getType());
+            orderItemDetailDto.setItem(itemDetailDto);
+        }
+        return orderItemDetailDto;
+    }
+
+    private static Order toOrder(OrderCreateUpdateDto orderCreateUpdateDto) {
+        var order = new Order();
+        order.setDiscount(orderCreateUpdateDto.getDiscount());
+        if (orderCreateUpdateDto.getOrderItems() != null) {
+            for (var orderItemDto : orderCreateUpdateDto.getOrderItems())
+                order.getOrderItems().add(toOrderItem(orderItemDto));
+        }
+        return order;
+    }
+
+    private static OrderItem toOrderItem(OrderItemDto orderItemDto) {
+        var orderItem = new OrderItem();
+        orderItem.setId(orderItemDto.getId());
+        if (orderItemDto.getAmount() != null)
+            orderItem.setAmount(orderItemDto.getAmount());
+        if (orderItemDto.getItem() != null)
+            orderItem.setItem(Item.builder().id(orderItemDto.getItem().getId()).build());
+        return orderItem;
+    }
+}
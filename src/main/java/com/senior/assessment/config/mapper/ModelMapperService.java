@@ -1,9 +1,13 @@
 package com.senior.assessment.config.mapper;
 
 import com.senior.assessment.domain.dto.PageResult;
+import com.senior.assessment.domain.dto.SliceResult;
+import com.senior.assessment.utilities.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,22 +18,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ModelMapperService {
     private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
 
     public <T> List<T> toList(Class<T> clazz, List<?> items) {
         return items.stream()
-                .map(item -> modelMapper.map(item, clazz))
+                .map(item -> map(item, clazz))
                 .toList();
     }
 
     public <T> Set<T> toSet(Class<T> clazz, Set<?> items) {
         return items.stream()
-                .map(item -> modelMapper.map(item, clazz))
+                .map(item -> map(item, clazz))
                 .collect(Collectors.toSet());
     }
 
     public <T> T toObject(Class<T> clazz, Object item) {
         if (item == null) return null;
-        return modelMapper.map(item, clazz);
+        return map(item, clazz);
     }
 
     public <T> PageResult<T> toPage(Class<T> clazz, Page<?> page) {
@@ -41,4 +46,22 @@ public class ModelMapperService {
         );
     }
 
-}
\ No newline at end of file
+    public <T> SliceResult<T> toSlice(Class<T> clazz, Window<?> window) {
+        if (window == null) return new SliceResult<>();
+        var nextCursor = window.hasNext() ? KeysetCursor.encode(window.positionAt(window.size() - 1)) : null;
+        return new SliceResult<>(
+                window.hasNext(),
+                nextCursor,
+                toList(clazz, window.getContent())
+        );
+    }
+
+    // private methods
+
+    // Hibernate.getClass resolve proxies (ex.: OrderItem.item lazy) para a classe da entidade registrada no DtoMapper
+    private <T> T map(Object item, Class<T> clazz) {
+        var mapper = dtoMapper.find(Hibernate.getClass(item), clazz);
+        return mapper != null ? mapper.apply(item) : modelMapper.map(item, clazz);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.senior.assessment.domain.analytics;
+
+import com.senior.assessment.domain.dto.analytics.SalesDto;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.enums.SalesGrouping;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Leitura e atualização das views materializadas de vendas (V1.10.0); ver SalesGrouping para a view de cada nível
+@Repository
+@RequiredArgsConstructor
+public class SalesAnalytics {
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<SalesDto> findSales(SalesGrouping grouping, LocalDate from, LocalDate to, OrderStatus status,
+                                    ItemType itemType) {
+        var sql = new StringBuilder("SELECT s.*")
+                .append(grouping == SalesGrouping.ITEM ? ", i.name AS item_name" : "")
+                .append(" FROM ").append(grouping.getView()).append(" s")
+                .append(grouping == SalesGrouping.ITEM ? " JOIN dbo.item i ON i.id = s.item_id" : "")
+                .append(" WHERE s.day BETWEEN ? AND ?");
+        var params = new ArrayList<Object>(List.of(from, to));
+        if (status != null) {
+            sql.append(" AND s.status = ?");
+            params.add(status.name());
+        }
+        if (itemType != null && grouping != SalesGrouping.DAY) {
+            sql.append(" AND s.item_type = ?");
+            params.add(itemType.name());
+        }
+        sql.append(switch (grouping) {
+            case DAY -> " ORDER BY s.day, s.status";
+            case ITEM_TYPE -> " ORDER BY s.day, s.status, s.item_type";
+            case ITEM -> " ORDER BY s.day, s.status, s.revenue DESC, s.item_id";
+        });
+        return jdbcTemplate.query(sql.toString(), (resultSet, rowNum) -> toSalesDto(grouping, resultSet),
+                params.toArray());
+    }
+
+    // CONCURRENTLY mantém as views legíveis durante a atualização (exige o índice único criado na migration)
+    public void refresh() {
+        for (var grouping : SalesGrouping.values())
+            jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + grouping.getView());
+    }
+
+    // private methods
+
+    private static SalesDto toSalesDto(SalesGrouping grouping, ResultSet resultSet) throws SQLException {
+        var sales = SalesDto.builder()
+                .day(resultSet.getObject("day", LocalDate.class))
+                .status(OrderStatus.of(resultSet.getString("status")))
+                .orders(resultSet.getLong("orders"))
+                .units(resultSet.getLong("units"))
+                .revenue(resultSet.getBigDecimal("revenue"))
+                .build();
+        if (grouping != SalesGrouping.DAY)
+            sales.setItemType(ItemType.of(resultSet.getString("item_type")));
+        if (grouping == SalesGrouping.ITEM) {
+            sales.setItemId(resultSet.getObject("item_id", UUID.class));
+            sales.setItemName(resultSet.getString("item_name"));
+        }
+        return sales;
+    }
+}
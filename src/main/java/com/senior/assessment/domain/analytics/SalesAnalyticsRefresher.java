@@ -0,0 +1,64 @@
+package com.senior.assessment.domain.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Atualiza as views de vendas a cada refresh-interval; os dados de analytics ficam no máximo esse tempo atrasados
+@Slf4j
+@Component
+public class SalesAnalyticsRefresher implements SmartLifecycle {
+    private final SalesAnalytics salesAnalytics;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private volatile boolean running;
+    private Thread refresherThread;
+
+    public SalesAnalyticsRefresher(SalesAnalytics salesAnalytics,
+                                   @Value("${assessment.analytics.refresh.enabled:true}") boolean enabled,
+                                   @Value("${assessment.analytics.refresh.interval:1m}") Duration refreshInterval) {
+        this.salesAnalytics = salesAnalytics;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        refresherThread = new Thread(this::refresh, "sales-analytics-refresher");
+        refresherThread.setDaemon(true);
+        refresherThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (refresherThread != null)
+            refresherThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // private methods
+
+    private void refresh() {
+        while (running) {
+            try {
+                Thread.sleep(refreshInterval.toMillis());
+                salesAnalytics.refresh();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.warn("Sales analytics refresh failed, retrying in {}.", refreshInterval, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.senior.assessment.domain.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Barramento de invalidação entre instâncias via LISTEN/NOTIFY do PostgreSQL.
+// publish() executa pg_notify na transação corrente, que o banco só entrega após o commit (e descarta no rollback);
+// cada instância mantém uma conexão dedicada em LISTEN (aberta fora do pool) e repassa "<cache>:<id>" ao cache inscrito.
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+    public static final String CHANNEL = "cache_invalidation";
+    private static final String SEPARATOR = ":";
+    private static final String ALL = "*";
+
+    private record Subscriber(Consumer<UUID> onEvict, Runnable onFlush) {
+    }
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public CacheInvalidationBus(DataSourceProperties dataSourceProperties,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${assessment.cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${assessment.cache.invalidation.poll-timeout:10s}") Duration pollTimeout,
+                                @Value("${assessment.cache.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public void subscribe(String cacheName, Consumer<UUID> onEvict, Runnable onFlush) {
+        subscribers.put(cacheName, new Subscriber(onEvict, onFlush));
+    }
+
+    public void publish(String cacheName, UUID id) {
+        notify(cacheName + SEPARATOR + id);
+    }
+
+    public void publishFlush(String cacheName) {
+        notify(cacheName + SEPARATOR + ALL);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null)
+            listenerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // private methods
+
+    // Conexão própria via DriverManager: não ocupa vaga do pool nem é encerrada pelo max-lifetime do pool. Falhas de
+    // um assinante são tratadas por notificação em dispatch; qualquer outra falha reconecta e descarta tudo.
+    private void listen() {
+        while (running) {
+            try (var connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                var pgConnection = connection.unwrap(PGConnection.class);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Notificações enviadas enquanto não havia listener foram perdidas: descarta tudo
+                flushAll();
+                while (running) {
+                    var notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null)
+                        for (var notification : notifications)
+                            dispatch(notification.getParameter());
+                    if (!connection.isValid((int) reconnectDelay.toSeconds()))
+                        throw new SQLException("Cache invalidation listener connection is no longer valid.");
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                log.warn("Cache invalidation listener disconnected, reconnecting in {}.", reconnectDelay, e);
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    private void notify(String payload) {
+        if (!enabled) return;
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) resultSet -> {
+        }, CHANNEL, payload);
+    }
+
+    // Uma falha do assinante é registrada e não interrompe o listener: as próximas notificações seguem sendo entregues
+    void dispatch(String payload) {
+        var separatorIndex = payload.lastIndexOf(SEPARATOR);
+        var subscriber = separatorIndex < 0 ? null : subscribers.get(payload.substring(0, separatorIndex));
+        if (subscriber == null) return;
+        var key = payload.substring(separatorIndex + 1);
+        UUID id = null;
+        if (!ALL.equals(key)) {
+            try {
+                id = UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalid cache invalidation payload: {}.", payload);
+                return;
+            }
+        }
+        try {
+            if (id == null)
+                subscriber.onFlush().run();
+            else
+                subscriber.onEvict().accept(id);
+        } catch (RuntimeException e) {
+            log.error("Cache invalidation subscriber failed for payload: {}.", payload, e);
+        }
+    }
+
+    private void flushAll() {
+        subscribers.values().forEach(subscriber -> subscriber.onFlush().run());
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
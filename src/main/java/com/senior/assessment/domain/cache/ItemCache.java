@@ -0,0 +1,132 @@
+package com.senior.assessment.domain.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.repository.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Cache em memória do catálogo de itens (TTL + tamanho máximo), com métricas cache.* na tag cache=item.
+// As instâncias retornadas são compartilhadas entre threads e, quando carregadas dentro de uma transação, continuam
+// gerenciadas pela sessão dela até o fim: apenas leitura, alterações devem partir do repositório.
+// Toda invalidação também remove o item do cache de segundo nível do Hibernate (quando habilitado), que não enxerga as
+// escritas via JDBC nem as de outras instâncias.
+@Component
+public class ItemCache {
+    public static final String CACHE_NAME = "item";
+
+    private final ItemRepository itemRepository;
+    private final Cache<UUID, Item> cache;
+    private final org.hibernate.Cache secondLevelCache;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    // Incrementada a cada invalidação: o getAll só grava o que carregou se nenhuma ocorreu durante a carga
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ItemCache(ItemRepository itemRepository,
+                     CacheInvalidationBus cacheInvalidationBus,
+                     EntityManagerFactory entityManagerFactory,
+                     MeterRegistry meterRegistry,
+                     @Value("${assessment.cache.item.maximum-size:10000}") long maximumSize,
+                     @Value("${assessment.cache.item.time-to-live:10m}") Duration timeToLive) {
+        this.itemRepository = itemRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        cacheInvalidationBus.subscribe(CACHE_NAME, this::invalidateLocal, this::invalidateAllLocal);
+    }
+
+    public Optional<Item> get(UUID itemId) {
+        return Optional.ofNullable(cache.get(itemId, id -> itemRepository.findById(id).orElse(null)));
+    }
+
+    // Busca em lote: apenas os ids ausentes vão ao banco, em um único getAllByIdIn. O Cache.getAll do Caffeine não
+    // bloqueia as chaves durante a carga e gravaria por cima de uma invalidação concorrente, por isso a carga é feita
+    // fora do cache e o resultado só é gravado (e mantido) se nenhuma invalidação ocorreu desde o início dela
+    public Set<Item> getAll(Set<UUID> itemsIds) {
+        var items = new HashSet<>(cache.getAllPresent(itemsIds).values());
+        var missing = new HashSet<>(itemsIds);
+        items.forEach(item -> missing.remove(item.getId()));
+        if (missing.isEmpty()) return items;
+        var generation = invalidations.get();
+        var loaded = loadAll(missing);
+        if (invalidations.get() == generation) {
+            cache.putAll(loaded);
+            if (invalidations.get() != generation)
+                cache.invalidateAll(loaded.keySet());
+        }
+        items.addAll(loaded.values());
+        return items;
+    }
+
+    // Invalida agora e novamente ao fim da transação, para que uma leitura concorrente
+    // não reinsira a versão antiga antes do commit; as demais instâncias são avisadas no commit
+    public void evict(UUID itemId) {
+        invalidateLocal(itemId);
+        cacheInvalidationBus.publish(CACHE_NAME, itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateLocal(itemId);
+                }
+            });
+    }
+
+    // Descarta todas as entradas nesta instância e, após o commit, nas demais (ex.: carga completa do catálogo)
+    public void invalidateAll() {
+        invalidateAllLocal();
+        cacheInvalidationBus.publishFlush(CACHE_NAME);
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateAllLocal();
+                }
+            });
+    }
+
+    public void evictAll() {
+        invalidateAllLocal();
+    }
+
+    // private methods
+
+    private void invalidateLocal(UUID itemId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(itemId);
+        secondLevelCache.evictEntityData(Item.class, itemId);
+    }
+
+    private void invalidateAllLocal() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        secondLevelCache.evictEntityData(Item.class);
+    }
+
+    private Map<UUID, Item> loadAll(Set<UUID> itemsIds) {
+        return itemRepository.getAllByIdIn(Set.copyOf(itemsIds)).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+}
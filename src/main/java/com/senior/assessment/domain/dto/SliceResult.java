@@ -0,0 +1,19 @@
+package com.senior.assessment.domain.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResult<T> {
+    private boolean hasNext;
+    private String nextCursor;
+    @Builder.Default
+    private List<T> result = new ArrayList<>();
+}
@@ -0,0 +1,27 @@
+package com.senior.assessment.domain.dto.analytics;
+
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesDto {
+    private LocalDate day;
+    private OrderStatus status;
+    // Preenchido nos agrupamentos ITEM_TYPE e ITEM
+    private ItemType itemType;
+    // Preenchidos no agrupamento ITEM
+    private UUID itemId;
+    private String itemName;
+    private long orders;
+    private long units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,20 @@
+package com.senior.assessment.domain.dto.item;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBulkResultDto {
+    private int index;
+    private UUID id;
+    private boolean created;
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -18,6 +19,7 @@ import java.math.BigDecimal;
 public class ItemCreateUpdateDto {
     @NotNull
     @NotEmpty
+    @Size(max = 255)
     private String name;
 
     @NotNull
@@ -25,7 +27,7 @@ public class ItemCreateUpdateDto {
 
     @NotNull
     @DecimalMin(value = "0.01")
-    @Digits(integer = 10, fraction = 2)
+    @Digits(integer = 8, fraction = 2)
     private BigDecimal price;
 
     @NotNull
@@ -19,6 +19,7 @@ public class ItemDetailDto {
     private ItemType type;
     private BigDecimal price;
     private ItemStatus status;
+    private long orderLineCount;
     private LocalDateTime createdDate;
     private LocalDateTime lastModifiedDate;
 }
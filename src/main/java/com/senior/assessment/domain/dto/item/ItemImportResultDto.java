@@ -0,0 +1,21 @@
+package com.senior.assessment.domain.dto.item;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResultDto {
+    private long received;
+    private long rejected;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+}
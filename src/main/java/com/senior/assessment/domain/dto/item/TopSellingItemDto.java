@@ -0,0 +1,19 @@
+package com.senior.assessment.domain.dto.item;
+
+import com.senior.assessment.domain.enums.ItemType;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSellingItemDto {
+    private UUID itemId;
+    private String name;
+    private ItemType type;
+    // Soma das quantidades nas linhas de pedido existentes (abertos e fechados)
+    private long units;
+}
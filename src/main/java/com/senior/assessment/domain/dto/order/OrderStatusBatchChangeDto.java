@@ -0,0 +1,29 @@
+package com.senior.assessment.domain.dto.order;
+
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.validators.order.OrderStatusChange;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusBatchChangeDto {
+    public static final int MAX_IDS = 1_000;
+
+    @NotNull
+    @Size(min = 1, max = MAX_IDS)
+    private Set<@NotNull UUID> ids;
+
+    @NotNull
+    @OrderStatusChange(anyOf = {OrderStatus.CLOSED})
+    private OrderStatus status;
+}
@@ -0,0 +1,21 @@
+package com.senior.assessment.domain.dto.order;
+
+import lombok.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusBatchResultDto {
+    @Builder.Default
+    private Set<UUID> transitioned = new HashSet<>();
+    @Builder.Default
+    private Set<UUID> skipped = new HashSet<>();
+    @Builder.Default
+    private Set<UUID> missing = new HashSet<>();
+}
@@ -0,0 +1,21 @@
+package com.senior.assessment.domain.dto.order.intake;
+
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeDto {
+    private UUID handle;
+    private OrderIntakeStatus status;
+    // Preenchido quando CREATED
+    private UUID orderId;
+    // Preenchidos quando REJECTED, com o mesmo status/mensagem que o POST /orders síncrono retornaria
+    private Integer errorStatus;
+    private String message;
+}
@@ -0,0 +1,42 @@
+package com.senior.assessment.domain.dto.order.patch;
+
+import com.senior.assessment.domain.dto.order.createupdate.OrderItemDto;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+import java.util.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemsPatchDto {
+    // Novas linhas do pedido
+    @Valid
+    @NotNull
+    private List<OrderItemAddDto> add = new ArrayList<>();
+
+    // Nova quantidade por id da linha do pedido
+    @NotNull
+    private Map<@NotNull UUID, @NotNull @Positive Integer> change = new HashMap<>();
+
+    // Ids das linhas do pedido a remover
+    @NotNull
+    private Set<@NotNull UUID> remove = new HashSet<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderItemAddDto {
+        @Valid
+        @NotNull
+        private OrderItemDto.ItemDto item;
+
+        @NotNull
+        @Positive
+        private Integer amount;
+    }
+}
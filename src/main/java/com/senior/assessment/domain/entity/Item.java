@@ -1,6 +1,8 @@
 package com.senior.assessment.domain.entity;
 
 import com.senior.assessment.config.audit.Auditable;
+import com.senior.assessment.config.cache.SecondLevelCacheConfig;
+import com.senior.assessment.config.id.UuidV7;
 import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
 import jakarta.persistence.*;
@@ -8,7 +10,10 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
@@ -23,14 +28,16 @@ import java.util.UUID;
 @AllArgsConstructor
 @Table(name = "item", schema = "dbo")
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ITEM_REGION)
 public class Item extends Auditable {
     //TODO: Adicionar bean validations nas entidades
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @UuidV7
     private UUID id;
 
     @NotNull
     @NotEmpty
+    @Size(max = 255)
     @Column(name = "name", nullable = false)
     private String name;
 
@@ -39,17 +46,23 @@ public class Item extends Auditable {
     @Column(name = "type", nullable = false)
     private ItemType type;
 
+    @NotNull
     @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private ItemStatus status = ItemStatus.ACTIVE;
 
     @NotNull
-    @Digits(integer = 10, fraction = 2)
+    @Digits(integer = 8, fraction = 2)
     @DecimalMin(value = "0.01", message = "min is R$ 00,01.")
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    // Mantido via SQL pelo ItemRepositoryCustom.addOrderLineCounts, nunca escrito pelo Hibernate
+    @Builder.Default
+    @Column(name = "order_line_count", nullable = false, insertable = false, updatable = false)
+    private long orderLineCount = 0;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
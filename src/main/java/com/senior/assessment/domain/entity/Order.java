@@ -1,6 +1,7 @@
 package com.senior.assessment.domain.entity;
 
 import com.senior.assessment.config.audit.Auditable;
+import com.senior.assessment.config.id.UuidV7;
 import com.senior.assessment.domain.enums.OrderStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
@@ -10,6 +11,7 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -25,7 +27,7 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class Order extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @UuidV7
     private UUID id;
 
     @NotNull
@@ -39,6 +41,23 @@ public class Order extends Auditable {
     @DecimalMax(value = "1.0", message = "max 1.0")
     private double discount;
 
+    @Builder.Default
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "total_product", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalProduct = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "total_service", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalService = BigDecimal.ZERO;
+
+    // Soma dos produtos sem desconto, base para recalcular totalProduct de forma incremental
+    @Builder.Default
+    @Column(name = "subtotal_product", nullable = false, precision = 19, scale = 2)
+    private BigDecimal subtotalProduct = BigDecimal.ZERO;
+
     @NotNull
     @Builder.Default
     @OrderBy("createdDate")
@@ -1,6 +1,7 @@
 package com.senior.assessment.domain.entity;
 
 import com.senior.assessment.config.audit.Auditable;
+import com.senior.assessment.config.id.UuidV7;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
@@ -22,7 +23,7 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class OrderItem extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @UuidV7
     private UUID id;
 
     @NotNull
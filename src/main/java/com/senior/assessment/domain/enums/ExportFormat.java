@@ -0,0 +1,29 @@
+package com.senior.assessment.domain.enums;
+
+public enum ExportFormat {
+
+    NDJSON("NDJSON", "application/x-ndjson", "ndjson"),
+    CSV("CSV", "text/csv", "csv");
+
+    private final String code;
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String code, String mediaType, String extension) {
+        this.code = code;
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,29 @@
+package com.senior.assessment.domain.enums;
+
+import java.util.Arrays;
+
+import static com.senior.assessment.utilities.Utils.existsValue;
+
+public enum OrderEventType {
+
+    CREATED("CREATED"),
+    UPDATED("UPDATED"),
+    CLOSED("CLOSED");
+
+    private final String code;
+
+    OrderEventType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static OrderEventType of(String value) {
+        return Arrays.stream(OrderEventType.values())
+                .filter(v -> existsValue(value) && value.equals(v.getCode()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.senior.assessment.domain.enums;
+
+import java.util.Arrays;
+
+import static com.senior.assessment.utilities.Utils.existsValue;
+
+public enum OrderIntakeStatus {
+
+    PENDING("PENDING"),
+    CREATED("CREATED"),
+    REJECTED("REJECTED");
+
+    private final String code;
+
+    OrderIntakeStatus(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static OrderIntakeStatus of(String value) {
+        return Arrays.stream(OrderIntakeStatus.values())
+                .filter(v -> existsValue(value) && value.equals(v.getCode()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.senior.assessment.domain.enums;
+
+import java.util.Arrays;
+
+import static com.senior.assessment.utilities.Utils.existsValue;
+
+public enum SalesGrouping {
+
+    DAY("DAY", "dbo.sales_daily"),
+    ITEM_TYPE("ITEM_TYPE", "dbo.sales_daily_item_type"),
+    ITEM("ITEM", "dbo.sales_daily_item");
+
+    private final String code;
+    private final String view;
+
+    SalesGrouping(String code, String view) {
+        this.code = code;
+        this.view = view;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    // View materializada que atende este agrupamento
+    public String getView() {
+        return view;
+    }
+
+    public static SalesGrouping of(String value) {
+        return Arrays.stream(SalesGrouping.values())
+                .filter(v -> existsValue(value) && value.equals(v.getCode()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.senior.assessment.domain.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Remove periodicamente as chaves expiradas; a reserva já reaproveita uma chave expirada, isto só limita o tamanho
+@Slf4j
+@Component
+public class IdempotencyKeyPurger implements SmartLifecycle {
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final boolean enabled;
+    private final Duration purgeInterval;
+    private volatile boolean running;
+    private Thread purgerThread;
+
+    public IdempotencyKeyPurger(IdempotencyKeyStore idempotencyKeyStore,
+                                @Value("${assessment.idempotency.purge.enabled:true}") boolean enabled,
+                                @Value("${assessment.idempotency.purge.interval:1h}") Duration purgeInterval) {
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.enabled = enabled;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        purgerThread = new Thread(this::purge, "idempotency-key-purger");
+        purgerThread.setDaemon(true);
+        purgerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (purgerThread != null)
+            purgerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // private methods
+
+    private void purge() {
+        while (running) {
+            try {
+                Thread.sleep(purgeInterval.toMillis());
+                var deleted = idempotencyKeyStore.deleteExpired();
+                if (deleted > 0) log.debug("Purged {} expired idempotency keys.", deleted);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.warn("Idempotency key purge failed, retrying in {}.", purgeInterval, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.senior.assessment.domain.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyStore {
+    private final JdbcTemplate jdbcTemplate;
+
+    // Reserva a chave na transação corrente. Uma requisição concorrente com a mesma chave fica bloqueada no
+    // índice único até esta transação terminar; chave expirada é reaproveitada. Retorna false se já existir.
+    public boolean claim(String scope, String key, String requestHash, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("""
+                        INSERT INTO dbo.idempotency_key (scope, key, request_hash, created_at, expires_at)
+                        VALUES (?, ?, ?, ?, ?)
+                        ON CONFLICT (scope, key) DO UPDATE
+                            SET request_hash = EXCLUDED.request_hash,
+                                status_code  = NULL,
+                                response     = NULL,
+                                created_at   = EXCLUDED.created_at,
+                                expires_at   = EXCLUDED.expires_at
+                        WHERE dbo.idempotency_key.expires_at < EXCLUDED.created_at
+                        """,
+                scope, key, requestHash, LocalDateTime.now(), expiresAt) > 0;
+    }
+
+    public Optional<IdempotentResponse> find(String scope, String key) {
+        return jdbcTemplate.query("""
+                                SELECT request_hash, status_code, response
+                                FROM dbo.idempotency_key
+                                WHERE scope = ? AND key = ?
+                                """,
+                        (resultSet, rowNum) -> new IdempotentResponse(
+                                resultSet.getString("request_hash"),
+                                resultSet.getObject("status_code", Integer.class),
+                                resultSet.getString("response")
+                        ),
+                        scope, key)
+                .stream()
+                .findFirst();
+    }
+
+    public void complete(String scope, String key, int statusCode, String response) {
+        jdbcTemplate.update("""
+                        UPDATE dbo.idempotency_key
+                        SET status_code = ?, response = ?::JSONB
+                        WHERE scope = ? AND key = ?
+                        """,
+                statusCode, response, scope, key);
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM dbo.idempotency_key WHERE expires_at < ?", LocalDateTime.now());
+    }
+}
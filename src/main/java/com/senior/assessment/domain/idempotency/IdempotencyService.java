@@ -0,0 +1,104 @@
+package com.senior.assessment.domain.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senior.assessment.infrastructure.exception.CustomException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int KEY_MAX_LENGTH = 255;
+
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+
+    public IdempotencyService(IdempotencyKeyStore idempotencyKeyStore,
+                              ObjectMapper objectMapper,
+                              @Value("${assessment.idempotency.time-to-live:24h}") Duration timeToLive) {
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.objectMapper = objectMapper;
+        this.timeToLive = timeToLive;
+    }
+
+    // Sem chave executa normalmente. Com chave, a primeira requisição executa a operação na mesma transação em que
+    // reserva a chave e grava a resposta; as retentativas devolvem a resposta gravada sem executar a operação.
+    @Transactional
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> operation) {
+        if (key == null) return operation.get();
+        if (key.isBlank() || key.length() > KEY_MAX_LENGTH)
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("%s header must have between 1 and %d characters",
+                            IDEMPOTENCY_KEY_HEADER, KEY_MAX_LENGTH))
+                    .build();
+
+        var requestHash = hash(request);
+        if (idempotencyKeyStore.claim(scope, key, requestHash, LocalDateTime.now().plus(timeToLive))) {
+            var response = operation.get();
+            idempotencyKeyStore.complete(scope, key, response.getStatusCode().value(), toJson(response.getBody()));
+            return response;
+        }
+
+        var stored = idempotencyKeyStore.find(scope, key)
+                .orElseThrow(() -> keyInProgress(key));
+        if (!stored.requestHash().equals(requestHash))
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .message(String.format("%s '%s' was already used with a different request", IDEMPOTENCY_KEY_HEADER, key))
+                    .build();
+        if (stored.statusCode() == null) throw keyInProgress(key);
+
+        return ResponseEntity.status(stored.statusCode())
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(fromJson(stored.response(), responseType));
+    }
+
+    // private methods
+
+    private String hash(Object request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CustomException keyInProgress(String key) {
+        return CustomException.builder()
+                .httpStatus(HttpStatus.CONFLICT)
+                .message(String.format("%s '%s' is being processed by another request", IDEMPOTENCY_KEY_HEADER, key))
+                .build();
+    }
+}
@@ -0,0 +1,5 @@
+package com.senior.assessment.domain.idempotency;
+
+// statusCode/response ficam nulos enquanto a operação que reservou a chave não terminou
+public record IdempotentResponse(String requestHash, Integer statusCode, String response) {
+}
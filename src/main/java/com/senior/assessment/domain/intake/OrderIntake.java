@@ -0,0 +1,265 @@
+package com.senior.assessment.domain.intake;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senior.assessment.config.mapper.ModelMapperService;
+import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
+import com.senior.assessment.domain.dto.order.intake.OrderIntakeDto;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
+import com.senior.assessment.domain.service.OrderService;
+import com.senior.assessment.infrastructure.exception.CustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Recebimento assíncrono de pedidos: o POST grava o handle como PENDING em dbo.order_intake, enfileira (fila
+// limitada) e devolve o handle; um único worker agrupa os pedidos pendentes e cria cada grupo em uma transação
+// (group commit) via OrderService.createOrders, gravando os resultados na mesma transação. Qualquer instância
+// responde pelo handle, e pedidos aceitos por uma instância que caiu são retomados após recover-after.
+@Slf4j
+@Component
+public class OrderIntake implements SmartLifecycle {
+    record Submission(UUID handle, OrderCreateUpdateDto orderCreate) {
+    }
+
+    private final OrderService orderService;
+    private final ModelMapperService modelMapperService;
+    private final OrderIntakeStore orderIntakeStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration linger;
+    private final Duration shutdownTimeout;
+    private final Duration resultTimeToLive;
+    private final Duration recoverAfter;
+    private final BlockingQueue<Submission> queue;
+    private volatile boolean running;
+    private Thread intakeThread;
+
+    public OrderIntake(OrderService orderService,
+                       ModelMapperService modelMapperService,
+                       OrderIntakeStore orderIntakeStore,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${assessment.intake.enabled:true}") boolean enabled,
+                       @Value("${assessment.intake.queue-capacity:1000}") int queueCapacity,
+                       @Value("${assessment.intake.batch-size:50}") int batchSize,
+                       @Value("${assessment.intake.linger:10ms}") Duration linger,
+                       @Value("${assessment.intake.shutdown-timeout:30s}") Duration shutdownTimeout,
+                       @Value("${assessment.intake.result-ttl:10m}") Duration resultTimeToLive,
+                       @Value("${assessment.intake.recover-after:5m}") Duration recoverAfter) {
+        this.orderService = orderService;
+        this.modelMapperService = modelMapperService;
+        this.orderIntakeStore = orderIntakeStore;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.shutdownTimeout = shutdownTimeout;
+        this.resultTimeToLive = resultTimeToLive;
+        this.recoverAfter = recoverAfter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Fila cheia (ou worker parado) responde 503 para que o cliente tente novamente mais tarde
+    public OrderIntakeDto submit(OrderCreateUpdateDto orderCreate) {
+        if (!running) throw queueUnavailable();
+        var pending = OrderIntakeDto.builder()
+                .handle(UUID.randomUUID())
+                .status(OrderIntakeStatus.PENDING)
+                .build();
+        orderIntakeStore.insertPending(pending.getHandle(), toJson(orderCreate));
+        if (!queue.offer(new Submission(pending.getHandle(), orderCreate))) {
+            orderIntakeStore.delete(pending.getHandle());
+            throw queueUnavailable();
+        }
+        return pending;
+    }
+
+    public Optional<OrderIntakeDto> getResult(UUID handle) {
+        return orderIntakeStore.find(handle);
+    }
+
+    // Cria o grupo em uma transação; se ela falhar por algo que não é regra de negócio, cada pedido é refeito na
+    // própria transação para que um único pedido problemático não rejeite os demais
+    void process(List<Submission> submissions) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> createGroup(submissions));
+        } catch (RuntimeException e) {
+            log.warn("Order intake group of {} failed, creating one by one.", submissions.size(), e);
+            submissions.forEach(this::processOne);
+        }
+    }
+
+    // Enfileira os pedidos PENDING parados há mais de recover-after e remove os resultados expirados
+    void recover() {
+        var claimed = orderIntakeStore.claimStale(recoverAfter, queue.remainingCapacity());
+        for (var pending : claimed) {
+            try {
+                var orderCreate = objectMapper.readValue(pending.request(), OrderCreateUpdateDto.class);
+                if (!queue.offer(new Submission(pending.handle(), orderCreate))) break;
+            } catch (JsonProcessingException e) {
+                log.error("Order intake {} has an unreadable request.", pending.handle(), e);
+                reject(pending.handle(), HttpStatus.INTERNAL_SERVER_ERROR, "Cannot create order.");
+            }
+        }
+        if (!claimed.isEmpty()) log.info("Order intake recovered {} pending orders.", claimed.size());
+        orderIntakeStore.deleteExpired();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        intakeThread = new Thread(this::drain, "order-intake");
+        intakeThread.setDaemon(true);
+        intakeThread.start();
+    }
+
+    // Para de aceitar novos pedidos, aguarda o worker e cria aqui mesmo o que ainda estiver na fila. O que não
+    // chegar a ser criado (ex.: a instância cai) continua PENDING e é retomado por outra instância.
+    @Override
+    public void stop() {
+        running = false;
+        if (intakeThread == null) return;
+        try {
+            intakeThread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var submissions = new ArrayList<Submission>(batchSize);
+        while (queue.drainTo(submissions, batchSize) > 0) {
+            process(submissions);
+            submissions.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // private methods
+
+    // Espera o primeiro pedido e aguarda até linger para completar o grupo antes de gravar; ocioso, retoma os
+    // pedidos parados no máximo uma vez a cada recover-after
+    private void drain() {
+        var nextRecovery = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    if (running && System.nanoTime() - nextRecovery >= 0) {
+                        nextRecovery = System.nanoTime() + recoverAfter.toNanos();
+                        recoverSafely();
+                    }
+                    continue;
+                }
+                var submissions = new ArrayList<Submission>(batchSize);
+                submissions.add(first);
+                var deadline = System.nanoTime() + linger.toNanos();
+                while (submissions.size() < batchSize) {
+                    queue.drainTo(submissions, batchSize - submissions.size());
+                    var remaining = deadline - System.nanoTime();
+                    if (submissions.size() >= batchSize || remaining <= 0) break;
+                    var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) submissions.add(next);
+                }
+                process(submissions);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Só cria os pedidos que continuam PENDING, bloqueados até o commit para que outra instância que os tenha
+    // retomado não os crie de novo
+    private void createGroup(List<Submission> submissions) {
+        var pendingHandles = orderIntakeStore.lockPending(submissions.stream().map(Submission::handle).toList());
+        var pending = submissions.stream()
+                .filter(submission -> pendingHandles.contains(submission.handle()))
+                .toList();
+        if (pending.isEmpty()) return;
+        var created = orderService.createOrders(pending.stream().map(this::toOrder).toList());
+        var results = new ArrayList<OrderIntakeDto>(pending.size());
+        for (var index = 0; index < pending.size(); index++)
+            results.add(created.get(index).toBuilder().handle(pending.get(index).handle()).build());
+        orderIntakeStore.complete(results, resultTimeToLive);
+    }
+
+    private void processOne(Submission submission) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (orderIntakeStore.lockPending(List.of(submission.handle())).isEmpty()) return;
+                var order = orderService.createOrder(toOrder(submission));
+                orderIntakeStore.complete(List.of(OrderIntakeDto.builder()
+                        .handle(submission.handle())
+                        .status(OrderIntakeStatus.CREATED)
+                        .orderId(order.getId())
+                        .build()), resultTimeToLive);
+            });
+        } catch (CustomException e) {
+            reject(submission.handle(), e.getHttpStatus(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Order intake {} failed.", submission.handle(), e);
+            reject(submission.handle(), HttpStatus.INTERNAL_SERVER_ERROR, "Cannot create order.");
+        }
+    }
+
+    // Se nem a rejeição puder ser gravada o handle continua PENDING e o pedido é retomado após recover-after
+    private void reject(UUID handle, HttpStatus httpStatus, String message) {
+        try {
+            orderIntakeStore.complete(List.of(OrderIntakeDto.builder()
+                    .handle(handle)
+                    .status(OrderIntakeStatus.REJECTED)
+                    .errorStatus(httpStatus.value())
+                    .message(message)
+                    .build()), resultTimeToLive);
+        } catch (RuntimeException e) {
+            log.warn("Order intake {} result was not stored, retrying after {}.", handle, recoverAfter, e);
+        }
+    }
+
+    private void recoverSafely() {
+        try {
+            recover();
+        } catch (RuntimeException e) {
+            log.warn("Order intake recovery failed, retrying in {}.", recoverAfter, e);
+        }
+    }
+
+    private Order toOrder(Submission submission) {
+        return modelMapperService.toObject(Order.class, submission.orderCreate());
+    }
+
+    private String toJson(OrderCreateUpdateDto orderCreate) {
+        try {
+            return objectMapper.writeValueAsString(orderCreate);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CustomException queueUnavailable() {
+        return CustomException.builder()
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .message("Order intake queue is full, try again later.")
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.senior.assessment.domain.intake;
+
+import com.senior.assessment.domain.dto.order.intake.OrderIntakeDto;
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderIntakeStore {
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertPending(UUID handle, String request) {
+        jdbcTemplate.update("""
+                        INSERT INTO dbo.order_intake (handle, status, request)
+                        VALUES (?, ?, ?::JSONB)
+                        """,
+                handle, OrderIntakeStatus.PENDING.getCode(), request);
+    }
+
+    public void delete(UUID handle) {
+        jdbcTemplate.update("DELETE FROM dbo.order_intake WHERE handle = ?", handle);
+    }
+
+    // Bloqueia na transação corrente os handles ainda PENDING e os retorna. Uma instância que retomou o mesmo
+    // pedido fica bloqueada até esta transação terminar e depois não o encontra mais como PENDING.
+    public Set<UUID> lockPending(Collection<UUID> handles) {
+        return new HashSet<>(jdbcTemplate.query("""
+                        SELECT handle
+                        FROM dbo.order_intake
+                        WHERE handle = ANY (?) AND status = ?
+                        FOR UPDATE
+                        """,
+                preparedStatement -> {
+                    preparedStatement.setArray(1,
+                            preparedStatement.getConnection().createArrayOf("uuid", handles.toArray()));
+                    preparedStatement.setString(2, OrderIntakeStatus.PENDING.getCode());
+                },
+                (resultSet, rowNum) -> resultSet.getObject("handle", UUID.class)));
+    }
+
+    // Grava o resultado de cada handle ainda PENDING; o resultado fica disponível por timeToLive
+    public void complete(List<OrderIntakeDto> results, Duration timeToLive) {
+        if (results.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                        UPDATE dbo.order_intake
+                        SET status       = ?,
+                            order_id     = ?,
+                            error_status = ?,
+                            message      = ?,
+                            updated_at   = NOW(),
+                            expires_at   = NOW() + ? * INTERVAL '1 millisecond'
+                        WHERE handle = ? AND status = ?
+                        """,
+                results.stream()
+                        .map(result -> new Object[]{
+                                result.getStatus().getCode(),
+                                result.getOrderId(),
+                                result.getErrorStatus(),
+                                result.getMessage(),
+                                timeToLive.toMillis(),
+                                result.getHandle(),
+                                OrderIntakeStatus.PENDING.getCode()
+                        })
+                        .toList());
+    }
+
+    public Optional<OrderIntakeDto> find(UUID handle) {
+        return jdbcTemplate.query("""
+                                SELECT handle, status, order_id, error_status, message
+                                FROM dbo.order_intake
+                                WHERE handle = ? AND (expires_at IS NULL OR expires_at >= NOW())
+                                """,
+                        (resultSet, rowNum) -> OrderIntakeDto.builder()
+                                .handle(resultSet.getObject("handle", UUID.class))
+                                .status(OrderIntakeStatus.of(resultSet.getString("status")))
+                                .orderId(resultSet.getObject("order_id", UUID.class))
+                                .errorStatus(resultSet.getObject("error_status", Integer.class))
+                                .message(resultSet.getString("message"))
+                                .build(),
+                        handle)
+                .stream()
+                .findFirst();
+    }
+
+    // Retoma pedidos PENDING parados há mais de staleAfter (instância que os aceitou caiu). A linha é tocada no
+    // mesmo UPDATE, então instâncias concorrentes não retomam o mesmo pedido antes de outro staleAfter.
+    public List<PendingOrderIntake> claimStale(Duration staleAfter, int limit) {
+        return jdbcTemplate.query("""
+                        UPDATE dbo.order_intake o
+                        SET updated_at = NOW()
+                        WHERE o.handle IN (SELECT handle
+                                           FROM dbo.order_intake
+                                           WHERE status = ? AND updated_at < NOW() - ? * INTERVAL '1 millisecond'
+                                           ORDER BY updated_at
+                                           LIMIT ? FOR UPDATE SKIP LOCKED)
+                        RETURNING o.handle, o.request
+                        """,
+                (resultSet, rowNum) -> new PendingOrderIntake(
+                        resultSet.getObject("handle", UUID.class),
+                        resultSet.getString("request")
+                ),
+                OrderIntakeStatus.PENDING.getCode(), staleAfter.toMillis(), limit);
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM dbo.order_intake WHERE expires_at < NOW()");
+    }
+}
@@ -0,0 +1,7 @@
+package com.senior.assessment.domain.intake;
+
+import java.util.UUID;
+
+// Pedido aceito e ainda não criado, com o OrderCreateUpdateDto recebido em JSON
+public record PendingOrderIntake(UUID handle, String request) {
+}
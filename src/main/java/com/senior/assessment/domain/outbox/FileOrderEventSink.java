@@ -0,0 +1,41 @@
+package com.senior.assessment.domain.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+// Substituto local do consumidor: acrescenta cada evento como uma linha NDJSON e força a gravação em disco
+// antes de retornar, para que o relay só exclua do outbox o que já está persistido no arquivo
+@Component
+@ConditionalOnProperty(name = "assessment.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOrderEventSink implements OrderEventSink {
+    private final Path path;
+
+    public FileOrderEventSink(@Value("${assessment.outbox.file.path:outbox/order-events.ndjson}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void publish(List<OrderOutboxEvent> events) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        var content = new StringBuilder();
+        events.forEach(event -> content.append(event.payload()).append('\n'));
+        try (var channel = FileChannel.open(path, CREATE, WRITE, APPEND)) {
+            var buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+    }
+}
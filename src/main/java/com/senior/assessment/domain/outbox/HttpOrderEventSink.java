@@ -0,0 +1,52 @@
+package com.senior.assessment.domain.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Envia o lote inteiro em um único POST NDJSON; qualquer status fora de 2xx mantém o lote no outbox
+@Component
+@ConditionalOnProperty(name = "assessment.outbox.sink", havingValue = "http")
+public class HttpOrderEventSink implements OrderEventSink {
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final Duration timeout;
+
+    public HttpOrderEventSink(@Value("${assessment.outbox.http.url}") URI uri,
+                              @Value("${assessment.outbox.http.timeout:10s}") Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.uri = uri;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void publish(List<OrderOutboxEvent> events) throws IOException {
+        var body = events.stream()
+                .map(OrderOutboxEvent::payload)
+                .collect(Collectors.joining("\n", "", "\n"));
+        var request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2)
+                throw new IOException(String.format("Order event sink responded with status %d.", response.statusCode()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while publishing order events.", e);
+        }
+    }
+}
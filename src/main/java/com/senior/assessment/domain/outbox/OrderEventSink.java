@@ -0,0 +1,10 @@
+package com.senior.assessment.domain.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+// Destino dos eventos drenados do outbox. Só deve retornar quando o lote estiver entregue de forma durável:
+// qualquer exceção mantém os eventos no outbox para a próxima tentativa.
+public interface OrderEventSink {
+    void publish(List<OrderOutboxEvent> events) throws IOException;
+}
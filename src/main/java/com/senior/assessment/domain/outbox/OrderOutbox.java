@@ -0,0 +1,106 @@
+package com.senior.assessment.domain.outbox;
+
+import com.senior.assessment.domain.enums.OrderEventType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderOutbox {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Grava um evento por pedido na transação corrente com o snapshot lido de dbo.order no mesmo INSERT ... SELECT.
+    // O flush antes garante que o SQL enxergue o que o Hibernate ainda mantém pendente no contexto de persistência.
+    public void append(Collection<UUID> orderIds, OrderEventType type) {
+        if (orderIds.isEmpty()) return;
+        entityManager.flush();
+        var now = LocalDateTime.now();
+        jdbcTemplate.update("""
+                        INSERT INTO dbo.order_outbox (order_id, type, payload, created_at)
+                        SELECT o.id,
+                               ?,
+                               JSONB_BUILD_OBJECT('type', ?::TEXT,
+                                                  'orderId', o.id,
+                                                  'status', o.status,
+                                                  'discount', o.discount,
+                                                  'total', o.total,
+                                                  'totalProduct', o.total_product,
+                                                  'totalService', o.total_service,
+                                                  'occurredAt', ?::TIMESTAMP),
+                               ?
+                        FROM dbo.order o
+                        WHERE o.id = ANY (?::UUID[])
+                        """,
+                preparedStatement -> {
+                    preparedStatement.setString(1, type.name());
+                    preparedStatement.setString(2, type.name());
+                    preparedStatement.setObject(3, now);
+                    preparedStatement.setObject(4, now);
+                    preparedStatement.setArray(5,
+                            preparedStatement.getConnection().createArrayOf("uuid", orderIds.toArray()));
+                });
+    }
+
+    // Reivindica o próximo lote por `lease`: as linhas ficam reservadas sem manter transação nem bloqueio abertos
+    // durante a entrega. Instâncias concorrentes pulam as linhas bloqueadas (SKIP LOCKED) e as ainda reservadas.
+    public List<OrderOutboxEvent> claimNextBatch(int batchSize, Duration lease) {
+        return jdbcTemplate.query("""
+                        UPDATE dbo.order_outbox o
+                        SET claimed_until = NOW() + ? * INTERVAL '1 millisecond'
+                        WHERE o.id IN (SELECT id
+                                       FROM dbo.order_outbox
+                                       WHERE claimed_until IS NULL OR claimed_until < NOW()
+                                       ORDER BY id
+                                       LIMIT ? FOR UPDATE SKIP LOCKED)
+                        RETURNING o.id, o.order_id, o.type, o.payload || JSONB_BUILD_OBJECT('eventId', o.id) AS payload,
+                                  o.created_at
+                        """,
+                (resultSet, rowNum) -> new OrderOutboxEvent(
+                        resultSet.getLong("id"),
+                        resultSet.getObject("order_id", UUID.class),
+                        OrderEventType.valueOf(resultSet.getString("type")),
+                        resultSet.getString("payload"),
+                        resultSet.getObject("created_at", LocalDateTime.class)
+                ),
+                lease.toMillis(), batchSize)
+                .stream()
+                .sorted(Comparator.comparingLong(OrderOutboxEvent::id))
+                .toList();
+    }
+
+    // Devolve o lote ao outbox antes de a reserva expirar (ex.: falha na entrega)
+    public void release(List<OrderOutboxEvent> events) {
+        if (events.isEmpty()) return;
+        jdbcTemplate.update("UPDATE dbo.order_outbox SET claimed_until = NULL WHERE id = ANY (?)",
+                preparedStatement -> preparedStatement.setArray(1, toIdArray(preparedStatement, events)));
+    }
+
+    public void delete(List<OrderOutboxEvent> events) {
+        if (events.isEmpty()) return;
+        jdbcTemplate.update("DELETE FROM dbo.order_outbox WHERE id = ANY (?)",
+                preparedStatement -> preparedStatement.setArray(1, toIdArray(preparedStatement, events)));
+    }
+
+    // private methods
+
+    private Array toIdArray(PreparedStatement preparedStatement, List<OrderOutboxEvent> events) throws SQLException {
+        return preparedStatement.getConnection()
+                .createArrayOf("bigint", events.stream().map(OrderOutboxEvent::id).toArray());
+    }
+}
@@ -0,0 +1,10 @@
+package com.senior.assessment.domain.outbox;
+
+import com.senior.assessment.domain.enums.OrderEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// payload é o JSON entregue aos consumidores, já com eventId para deduplicação (entrega at-least-once)
+public record OrderOutboxEvent(long id, UUID orderId, OrderEventType type, String payload, LocalDateTime createdAt) {
+}
@@ -0,0 +1,117 @@
+package com.senior.assessment.domain.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+
+// Drena o outbox em lotes: reivindica o lote numa transação curta, entrega ao sink fora de transação e exclui
+// numa segunda transação. Falha no sink devolve o lote, que volta a ser entregue na próxima rodada (at-least-once);
+// se a instância cair no meio da entrega, o lote volta quando a reserva (lease) expira.
+@Slf4j
+@Component
+public class OrderOutboxRelay implements SmartLifecycle {
+    private final OrderOutbox orderOutbox;
+    private final OrderEventSink orderEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private volatile boolean running;
+    private Thread relayThread;
+
+    public OrderOutboxRelay(OrderOutbox orderOutbox,
+                            OrderEventSink orderEventSink,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${assessment.outbox.relay.enabled:true}") boolean enabled,
+                            @Value("${assessment.outbox.relay.batch-size:100}") int batchSize,
+                            @Value("${assessment.outbox.relay.poll-interval:1s}") Duration pollInterval,
+                            @Value("${assessment.outbox.relay.lease:1m}") Duration lease) {
+        this.orderOutbox = orderOutbox;
+        this.orderEventSink = orderEventSink;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+    }
+
+    // Entrega um lote e retorna quantos eventos foram entregues
+    public int relayBatch() {
+        var events = transactionTemplate.execute(status -> orderOutbox.claimNextBatch(batchSize, lease));
+        if (events == null || events.isEmpty()) return 0;
+        try {
+            orderEventSink.publish(events);
+        } catch (IOException e) {
+            release(events);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            release(events);
+            throw e;
+        }
+        transactionTemplate.executeWithoutResult(status -> orderOutbox.delete(events));
+        return events.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        relayThread = new Thread(this::relay, "order-outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relayThread != null)
+            relayThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // private methods
+
+    // Enquanto os lotes vierem cheios continua drenando sem espera
+    private void relay() {
+        while (running) {
+            try {
+                if (relayBatch() < batchSize)
+                    sleep(pollInterval);
+            } catch (RuntimeException e) {
+                if (!running) return;
+                log.warn("Order outbox relay failed, retrying in {}.", pollInterval, e);
+                sleep(pollInterval);
+            }
+        }
+    }
+
+    // Sem a devolução o lote só voltaria a ser entregue quando a reserva expirasse
+    private void release(List<OrderOutboxEvent> events) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderOutbox.release(events));
+        } catch (RuntimeException e) {
+            log.warn("Order outbox batch release failed, events will be retried after the lease of {}.", lease, e);
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -31,6 +31,12 @@ public class OrderDslPredicate {
         if (isPresent(orderSearch.itemType()))
             predicate = predicate.and(order.orderItems.any().item.type.eq(orderSearch.itemType()));
 
+        if (isPresent(orderSearch.minTotal()))
+            predicate = predicate.and(order.total.goe(orderSearch.minTotal()));
+
+        if (isPresent(orderSearch.maxTotal()))
+            predicate = predicate.and(order.total.loe(orderSearch.maxTotal()));
+
         return predicate;
     }
 }
@@ -4,8 +4,10 @@ import com.senior.assessment.domain.enums.ItemType;
 import com.senior.assessment.domain.enums.OrderStatus;
 import lombok.Builder;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Builder
-public record OrderSearch(UUID id, String query, ItemType itemType, OrderStatus status) {
+public record OrderSearch(UUID id, String query, ItemType itemType, OrderStatus status,
+                          BigDecimal minTotal, BigDecimal maxTotal) {
 }
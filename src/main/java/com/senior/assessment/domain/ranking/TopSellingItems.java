@@ -0,0 +1,170 @@
+package com.senior.assessment.domain.ranking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+// Ranking em memória das unidades vendidas por item (todas as linhas de pedido existentes, abertos e fechados).
+// Um TreeSet ordenado por unidades mantém o topo pronto para leitura e um HashMap localiza a entrada de cada item;
+// o OrderService informa as diferenças de cada escrita, aplicadas só após o commit. O ranking é reconstruído do
+// banco na subida e a cada rebuild-interval, corrigindo o que outras instâncias gravaram; as diferenças que chegam
+// durante a leitura do banco são guardadas e reaplicadas sobre o novo snapshot para não se perderem na troca.
+@Slf4j
+@Component
+public class TopSellingItems implements SmartLifecycle {
+    public record ItemUnits(UUID itemId, long units) {
+    }
+
+    private static final Comparator<ItemUnits> BY_UNITS_DESC = Comparator.comparingLong(ItemUnits::units)
+            .reversed()
+            .thenComparing(ItemUnits::itemId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration rebuildInterval;
+    private final Map<UUID, ItemUnits> unitsByItem = new HashMap<>();
+    private final NavigableSet<ItemUnits> ranking = new TreeSet<>(BY_UNITS_DESC);
+    private final Object rebuildLock = new Object();
+    private List<Map<UUID, Long>> pendingDeltas;
+    private volatile boolean running;
+    private Thread rebuildThread;
+
+    public TopSellingItems(JdbcTemplate jdbcTemplate,
+                           @Value("${assessment.ranking.enabled:true}") boolean enabled,
+                           @Value("${assessment.ranking.rebuild-interval:10m}") Duration rebuildInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public synchronized List<ItemUnits> top(int limit) {
+        return ranking.stream()
+                .limit(limit)
+                .toList();
+    }
+
+    // Aplica a variação de unidades por item após o commit da transação corrente (descartada no rollback)
+    public void record(Map<UUID, Long> unitsDelta) {
+        if (unitsDelta.isEmpty()) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(unitsDelta);
+                }
+            });
+        else
+            apply(unitsDelta);
+    }
+
+    // O buffer é aberto antes da consulta: uma diferença confirmada depois do snapshot do SELECT fica de fora dele e
+    // é reaplicada. Só a confirmada antes do snapshot com afterCommit já durante o rebuild é contada duas vezes,
+    // janela de microssegundos corrigida no rebuild seguinte.
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingDeltas = new ArrayList<>();
+            }
+            try {
+                var loaded = new HashMap<UUID, ItemUnits>();
+                jdbcTemplate.query("""
+                                SELECT item_id, SUM(amount) AS units
+                                FROM dbo.order_items
+                                GROUP BY item_id
+                                """,
+                        resultSet -> {
+                            var itemId = resultSet.getObject("item_id", UUID.class);
+                            loaded.put(itemId, new ItemUnits(itemId, resultSet.getLong("units")));
+                        });
+                synchronized (this) {
+                    unitsByItem.clear();
+                    unitsByItem.putAll(loaded);
+                    ranking.clear();
+                    ranking.addAll(loaded.values());
+                    pendingDeltas.forEach(this::applyToRanking);
+                }
+            } finally {
+                synchronized (this) {
+                    pendingDeltas = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        rebuildThread = new Thread(this::rebuildPeriodically, "top-selling-items-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (rebuildThread != null)
+            rebuildThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // private methods
+
+    // Durante um rebuild a diferença vale para o ranking atual e fica guardada para o snapshot em carga
+    private synchronized void apply(Map<UUID, Long> unitsDelta) {
+        if (pendingDeltas != null)
+            pendingDeltas.add(unitsDelta);
+        applyToRanking(unitsDelta);
+    }
+
+    private void applyToRanking(Map<UUID, Long> unitsDelta) {
+        unitsDelta.forEach((itemId, delta) -> {
+            var current = unitsByItem.get(itemId);
+            var units = (current == null ? 0 : current.units()) + delta;
+            if (current != null)
+                ranking.remove(current);
+            if (units > 0) {
+                var updated = new ItemUnits(itemId, units);
+                unitsByItem.put(itemId, updated);
+                ranking.add(updated);
+            } else
+                unitsByItem.remove(itemId);
+        });
+    }
+
+    // Primeira carga imediata na subida, depois a cada rebuild-interval
+    private void rebuildPeriodically() {
+        while (running) {
+            try {
+                rebuild();
+                Thread.sleep(rebuildInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.warn("Top selling items rebuild failed, retrying in {}.", rebuildInterval, e);
+                sleep(rebuildInterval);
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -3,12 +3,16 @@ package com.senior.assessment.domain.repository;
 import com.senior.assessment.domain.entity.Item;
 import com.senior.assessment.domain.enums.ItemType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
-public interface ItemRepository extends JpaRepository<Item, UUID>, QuerydslPredicateExecutor<Item> {
+public interface ItemRepository extends JpaRepository<Item, UUID>, QuerydslPredicateExecutor<Item>, ItemRepositoryCustom {
     boolean existsItemById(UUID itemId);
 
     boolean existsItemByNameAndType(String name, ItemType type);
@@ -16,4 +20,12 @@ public interface ItemRepository extends JpaRepository<Item, UUID>, QuerydslPredi
     boolean existsItemByNameAndTypeAndIdNot(String name, ItemType type, UUID id);
 
     Set<Item> getAllByIdIn(Set<UUID> ids);
+
+    @Query("SELECT i.orderLineCount FROM Item i WHERE i.id = :id")
+    Optional<Long> findOrderLineCountById(@Param("id") UUID id);
+
+    // Exclui apenas itens sem vínculo com pedidos (contador zerado), retornando a quantidade de linhas excluídas
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.id = :id AND i.orderLineCount = 0")
+    int deleteByIdWhereNotLinkedWithOrder(@Param("id") UUID id);
 }
@@ -0,0 +1,32 @@
+package com.senior.assessment.domain.repository;
+
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ItemType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface ItemRepositoryCustom {
+    record NameAndType(String name, ItemType type) {
+    }
+
+    record MergeCount(long inserted, long updated) {
+    }
+
+    Set<NameAndType> findExistingNameAndType(Collection<NameAndType> candidates);
+
+    Set<UUID> batchInsert(List<Item> items);
+
+    void createImportStaging();
+
+    long copyToImportStaging(Stream<Item> items);
+
+    MergeCount mergeImportStaging(LocalDateTime now);
+
+    Set<UUID> addOrderLineCounts(Map<UUID, Long> deltas);
+}
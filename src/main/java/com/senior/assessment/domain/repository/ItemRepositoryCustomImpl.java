@@ -0,0 +1,200 @@
+package com.senior.assessment.domain.repository;
+
+import com.senior.assessment.config.id.UuidV7Generator;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.utilities.Csv;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Uma única consulta para todos os candidatos, resolvida pelo índice único item_unique_name_by_type
+    @Override
+    public Set<NameAndType> findExistingNameAndType(Collection<NameAndType> candidates) {
+        var existing = new HashSet<NameAndType>();
+        if (candidates.isEmpty()) return existing;
+        jdbcTemplate.query("""
+                        SELECT i.name, i.type
+                        FROM dbo.item i
+                                 JOIN UNNEST(?::VARCHAR[], ?::VARCHAR[]) AS candidate(name, type)
+                                      ON i.name = candidate.name AND i.type = candidate.type
+                        """,
+                preparedStatement -> {
+                    var connection = preparedStatement.getConnection();
+                    preparedStatement.setArray(1, connection.createArrayOf("varchar",
+                            candidates.stream().map(NameAndType::name).toArray()));
+                    preparedStatement.setArray(2, connection.createArrayOf("varchar",
+                            candidates.stream().map(candidate -> candidate.type().name()).toArray()));
+                },
+                resultSet -> {
+                    existing.add(new NameAndType(resultSet.getString("name"),
+                            ItemType.valueOf(resultSet.getString("type"))));
+                });
+        return existing;
+    }
+
+    // Insere em lotes de BATCH_SIZE linhas por INSERT ... SELECT FROM UNNEST, atribuindo id UUIDv7 e datas de
+    // auditoria. Nome/tipo já existente (ex.: gravado por outra transação após a verificação prévia) não aborta o
+    // lote: a linha é ignorada pelo ON CONFLICT e fica fora dos ids retornados
+    @Override
+    public Set<UUID> batchInsert(List<Item> items) {
+        var now = LocalDateTime.now();
+        items.forEach(item -> {
+            item.setId(UuidV7Generator.randomUuid());
+            item.setCreatedDate(now);
+            item.setLastModifiedDate(now);
+        });
+        var inserted = new HashSet<UUID>();
+        for (var from = 0; from < items.size(); from += BATCH_SIZE) {
+            var batch = items.subList(from, Math.min(from + BATCH_SIZE, items.size()));
+            jdbcTemplate.query("""
+                            INSERT INTO dbo.item (id, name, type, status, price, created_at, updated_at)
+                            SELECT id, name, type, status, price, ?, ?
+                            FROM UNNEST(?::UUID[], ?::VARCHAR[], ?::VARCHAR[], ?::VARCHAR[], ?::DECIMAL[])
+                                     AS t(id, name, type, status, price)
+                            ON CONFLICT (name, type) DO NOTHING
+                            RETURNING id
+                            """,
+                    preparedStatement -> {
+                        var connection = preparedStatement.getConnection();
+                        preparedStatement.setObject(1, now);
+                        preparedStatement.setObject(2, now);
+                        preparedStatement.setArray(3, connection.createArrayOf("uuid",
+                                batch.stream().map(Item::getId).toArray()));
+                        preparedStatement.setArray(4, connection.createArrayOf("varchar",
+                                batch.stream().map(Item::getName).toArray()));
+                        preparedStatement.setArray(5, connection.createArrayOf("varchar",
+                                batch.stream().map(item -> item.getType().name()).toArray()));
+                        preparedStatement.setArray(6, connection.createArrayOf("varchar",
+                                batch.stream().map(item -> item.getStatus().name()).toArray()));
+                        preparedStatement.setArray(7, connection.createArrayOf("numeric",
+                                batch.stream().map(Item::getPrice).toArray()));
+                    },
+                    resultSet -> {
+                        inserted.add(resultSet.getObject("id", UUID.class));
+                    });
+        }
+        return inserted;
+    }
+
+    // Tabela temporária da transação corrente; line preserva a ordem do arquivo para o merge
+    @Override
+    public void createImportStaging() {
+        jdbcTemplate.execute("""
+                CREATE TEMPORARY TABLE item_import
+                (
+                    line   BIGINT GENERATED ALWAYS AS IDENTITY,
+                    id     UUID           NOT NULL,
+                    name   VARCHAR(255)   NOT NULL,
+                    type   VARCHAR(7)     NOT NULL,
+                    status VARCHAR(8)     NOT NULL,
+                    price  DECIMAL(10, 2) NOT NULL
+                ) ON COMMIT DROP
+                """);
+    }
+
+    // Envia as linhas pelo protocolo COPY à medida que o stream é consumido, sem acumulá-las em memória
+    @Override
+    public long copyToImportStaging(Stream<Item> items) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            var copyIn = connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn("COPY item_import (id, name, type, status, price) FROM STDIN WITH (FORMAT csv)");
+            try {
+                items.forEach(item -> writeToCopy(copyIn, Csv.line(List.of(item.getId(), item.getName(),
+                        item.getType().name(), item.getStatus().name(), item.getPrice())) + "\n"));
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive())
+                    copyIn.cancelCopy();
+            }
+        });
+    }
+
+    // Um único INSERT ... ON CONFLICT: a última linha do arquivo para cada nome/tipo vence e linhas idênticas
+    // às existentes não são reescritas; xmax = 0 identifica as linhas inseridas
+    @Override
+    public MergeCount mergeImportStaging(LocalDateTime now) {
+        return jdbcTemplate.queryForObject("""
+                        WITH merged AS (
+                            INSERT INTO dbo.item (id, name, type, status, price, created_at, updated_at)
+                                SELECT DISTINCT ON (name, type) id, name, type, status, price, ?, ?
+                                FROM item_import
+                                ORDER BY name, type, line DESC
+                                ON CONFLICT (name, type) DO UPDATE
+                                    SET status     = EXCLUDED.status,
+                                        price      = EXCLUDED.price,
+                                        updated_at = EXCLUDED.updated_at
+                                    WHERE (item.status, item.price) IS DISTINCT FROM (EXCLUDED.status, EXCLUDED.price)
+                                RETURNING xmax = 0 AS inserted
+                        )
+                        SELECT COUNT(*) FILTER (WHERE inserted)     AS inserted,
+                               COUNT(*) FILTER (WHERE NOT inserted) AS updated
+                        FROM merged
+                        """,
+                (resultSet, rowNum) -> new MergeCount(resultSet.getLong("inserted"), resultSet.getLong("updated")),
+                now, now);
+    }
+
+    // Um único UPDATE para todos os itens; os ids ordenados fazem com que, no plano usual (nested loop sobre o UNNEST),
+    // transações concorrentes bloqueiem as linhas na mesma sequência. Retorna os itens atualizados
+    @Override
+    public Set<UUID> addOrderLineCounts(Map<UUID, Long> deltas) {
+        var updated = new HashSet<UUID>();
+        var changed = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        if (changed.isEmpty()) return updated;
+        jdbcTemplate.query("""
+                        UPDATE dbo.item i
+                        SET order_line_count = i.order_line_count + d.delta
+                        FROM (SELECT id, delta
+                              FROM UNNEST(?::UUID[], ?::BIGINT[]) AS t(id, delta)
+                              ORDER BY id) d
+                        WHERE i.id = d.id
+                        RETURNING i.id
+                        """,
+                preparedStatement -> {
+                    var connection = preparedStatement.getConnection();
+                    preparedStatement.setArray(1, connection.createArrayOf("uuid",
+                            changed.stream().map(Map.Entry::getKey).toArray()));
+                    preparedStatement.setArray(2, connection.createArrayOf("bigint",
+                            changed.stream().map(Map.Entry::getValue).toArray()));
+                },
+                resultSet -> {
+                    updated.add(resultSet.getObject("id", UUID.class));
+                });
+        return updated;
+    }
+
+    // private methods
+
+    private void writeToCopy(CopyIn copyIn, String line) {
+        var bytes = line.getBytes(StandardCharsets.UTF_8);
+        try {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,11 +2,18 @@ package com.senior.assessment.domain.repository;
 
 import com.senior.assessment.domain.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, UUID>{
-    boolean existsOrderItemByItemId(UUID itemId);
+    boolean existsOrderItemByOrderId(UUID orderId);
     Set<OrderItem> getAllByIdIn(Set<UUID> ids);
+
+    @Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.item WHERE oi.order.id = :orderId AND oi.id IN :ids")
+    Set<OrderItem> findAllFetchItemByOrderIdAndIdIn(@Param("orderId") UUID orderId,
+                                                    @Param("ids") Collection<UUID> ids);
 }
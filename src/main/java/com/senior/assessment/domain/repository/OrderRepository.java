@@ -2,18 +2,34 @@ package com.senior.assessment.domain.repository;
 
 import com.senior.assessment.domain.entity.Order;
 import com.senior.assessment.domain.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface OrderRepository extends JpaRepository<Order, UUID>, QuerydslPredicateExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, QuerydslPredicateExecutor<Order>,
+        OrderRepositoryCustom {
     @Modifying
     @Transactional
-    @Query("UPDATE Order o SET o.status = :newStatus WHERE o.id = :id")
-    void updateStatus(@Param("id") UUID id, @Param("newStatus") OrderStatus newStatus);
+    // Compare-and-set: só altera quando o status atual é o esperado, retornando a quantidade de linhas alteradas
+    @Query("UPDATE Order o SET o.status = :newStatus, o.lastModifiedDate = LOCAL DATETIME " +
+            "WHERE o.id = :id AND o.status = :currentStatus")
+    int updateStatus(@Param("id") UUID id,
+                     @Param("currentStatus") OrderStatus currentStatus,
+                     @Param("newStatus") OrderStatus newStatus);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Order> findForUpdateById(UUID id);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.item WHERE o.id IN :ids")
+    List<Order> findAllFetchOrderItemsByIdIn(@Param("ids") Collection<UUID> ids);
 }
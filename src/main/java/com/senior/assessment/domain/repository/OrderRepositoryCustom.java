@@ -0,0 +1,19 @@
+package com.senior.assessment.domain.repository;
+
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.querydsl.search.OrderSearch;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+public interface OrderRepositoryCustom {
+    // Ids inexistentes não aparecem em nenhum dos conjuntos
+    record StatusChange(Set<UUID> changed, Set<UUID> unchanged) {
+    }
+
+    StatusChange updateStatusWhereOpened(Collection<UUID> ids, OrderStatus newStatus, LocalDateTime now);
+
+    Set<UUID> updateStatusWhereOpened(OrderSearch orderSearch, OrderStatus newStatus, LocalDateTime now);
+}
@@ -0,0 +1,107 @@
+package com.senior.assessment.domain.repository;
+
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.senior.assessment.utilities.Utils.isPresent;
+import static com.senior.assessment.utilities.Utils.unaccented;
+
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    // Um único UPDATE condicionado a OPENED para todos os ids; o RETURNING separa os alterados e o join com
+    // dbo.order (visto antes do UPDATE) separa os que já tinham outro status dos inexistentes
+    @Override
+    public StatusChange updateStatusWhereOpened(Collection<UUID> ids, OrderStatus newStatus, LocalDateTime now) {
+        var statusChange = new StatusChange(new HashSet<>(), new HashSet<>());
+        if (ids.isEmpty()) return statusChange;
+        jdbcTemplate.query("""
+                        WITH requested AS (SELECT DISTINCT UNNEST(?::UUID[]) AS id),
+                             updated AS (
+                                 UPDATE dbo.order o
+                                 SET status = ?, updated_at = ?
+                                 FROM requested r
+                                 WHERE o.id = r.id AND o.status = ?
+                                 RETURNING o.id)
+                        SELECT o.id, u.id IS NOT NULL AS changed
+                        FROM dbo.order o
+                                 JOIN requested r ON r.id = o.id
+                                 LEFT JOIN updated u ON u.id = o.id
+                        """,
+                preparedStatement -> {
+                    preparedStatement.setArray(1,
+                            preparedStatement.getConnection().createArrayOf("uuid", ids.toArray()));
+                    preparedStatement.setString(2, newStatus.name());
+                    preparedStatement.setObject(3, now);
+                    preparedStatement.setString(4, OrderStatus.OPENED.name());
+                },
+                resultSet -> {
+                    var id = resultSet.getObject("id", UUID.class);
+                    if (resultSet.getBoolean("changed"))
+                        statusChange.changed().add(id);
+                    else
+                        statusChange.unchanged().add(id);
+                });
+        return statusChange;
+    }
+
+    // Um único UPDATE ... RETURNING com os mesmos filtros do OrderDslPredicate traduzidos para SQL, sem trazer os ids
+    // para a aplicação antes; a busca por nome usa a mesma expressão do índice item_name_unaccent_trgm_idx
+    @Override
+    public Set<UUID> updateStatusWhereOpened(OrderSearch orderSearch, OrderStatus newStatus, LocalDateTime now) {
+        var sql = new StringBuilder("""
+                UPDATE dbo.order o
+                SET status = ?, updated_at = ?
+                WHERE o.status = ?
+                """);
+        var args = new ArrayList<Object>(List.of(newStatus.name(), now, OrderStatus.OPENED.name()));
+        if (isPresent(orderSearch.query())) {
+            sql.append("""
+                      AND EXISTS (SELECT 1
+                                  FROM dbo.order_items oi
+                                           JOIN dbo.item i ON i.id = oi.item_id
+                                  WHERE oi.order_id = o.id AND LOWER(dbo.f_unaccent(i.name)) LIKE ?)
+                    """);
+            args.add("%" + unaccented(orderSearch.query()).toLowerCase(Locale.ROOT) + "%");
+        }
+        if (isPresent(orderSearch.id())) {
+            sql.append("  AND o.id = ?\n");
+            args.add(orderSearch.id());
+        }
+        if (isPresent(orderSearch.status())) {
+            sql.append("  AND o.status = ?\n");
+            args.add(orderSearch.status().name());
+        }
+        if (isPresent(orderSearch.itemType())) {
+            sql.append("""
+                      AND EXISTS (SELECT 1
+                                  FROM dbo.order_items oi
+                                           JOIN dbo.item i ON i.id = oi.item_id
+                                  WHERE oi.order_id = o.id AND i.type = ?)
+                    """);
+            args.add(orderSearch.itemType().name());
+        }
+        if (isPresent(orderSearch.minTotal())) {
+            sql.append("  AND o.total >= ?\n");
+            args.add(orderSearch.minTotal());
+        }
+        if (isPresent(orderSearch.maxTotal())) {
+            sql.append("  AND o.total <= ?\n");
+            args.add(orderSearch.maxTotal());
+        }
+        sql.append("RETURNING o.id");
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), UUID.class, args.toArray()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.senior.assessment.domain.service;
+
+import com.senior.assessment.domain.analytics.SalesAnalytics;
+import com.senior.assessment.domain.dto.analytics.SalesDto;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.enums.SalesGrouping;
+import com.senior.assessment.infrastructure.exception.CustomException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+    private static final int DEFAULT_DAYS = 30;
+
+    private final SalesAnalytics salesAnalytics;
+
+    // Limita o período de uma consulta: cada dia gera uma linha por status (e por tipo/item), sem paginação
+    @Value("${assessment.analytics.max-period-days:366}")
+    private int maxPeriodDays;
+
+    // Sem período informado retorna os últimos 30 dias (até hoje)
+    @Transactional(readOnly = true)
+    public List<SalesDto> getSales(SalesGrouping grouping, LocalDate from, LocalDate to, OrderStatus status,
+                                   ItemType itemType) {
+        if (itemType != null && grouping == SalesGrouping.DAY)
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message("Invalid filter: itemType requires groupBy ITEM_TYPE or ITEM.")
+                    .build();
+        var until = to != null ? to : LocalDate.now();
+        var since = from != null ? from : until.minusDays(DEFAULT_DAYS - 1);
+        if (since.isAfter(until))
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("Invalid period: from %s is after to %s.", since, until))
+                    .build();
+        if (ChronoUnit.DAYS.between(since, until) >= maxPeriodDays)
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("Invalid period: from %s to %s exceeds %d days.", since, until,
+                            maxPeriodDays))
+                    .build();
+        return salesAnalytics.findSales(grouping, since, until, status, itemType);
+    }
+}
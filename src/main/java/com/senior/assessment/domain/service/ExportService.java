@@ -0,0 +1,140 @@
+package com.senior.assessment.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.senior.assessment.config.mapper.ModelMapperService;
+import com.senior.assessment.domain.dto.item.ItemDetailDto;
+import com.senior.assessment.domain.dto.order.detailslist.OrderDetailDto;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.entity.QItem;
+import com.senior.assessment.domain.entity.QOrder;
+import com.senior.assessment.domain.enums.ExportFormat;
+import com.senior.assessment.domain.querydsl.ItemDslPredicate;
+import com.senior.assessment.domain.querydsl.OrderDslPredicate;
+import com.senior.assessment.domain.querydsl.search.ItemSearch;
+import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import com.senior.assessment.utilities.Csv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+    private static final List<String> ITEM_HEADER =
+            List.of("id", "name", "type", "status", "price", "created_at", "updated_at");
+    private static final List<String> ORDER_HEADER = List.of(
+            "id", "status", "discount", "total", "total_product", "total_service", "created_at", "updated_at"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final ItemDslPredicate itemDslPredicate;
+    private final OrderDslPredicate orderDslPredicate;
+    private final ModelMapperService modelMapperService;
+    private final ObjectWriter objectWriter;
+    private final int fetchSize;
+
+    public ExportService(ItemDslPredicate itemDslPredicate,
+                         OrderDslPredicate orderDslPredicate,
+                         ModelMapperService modelMapperService,
+                         ObjectMapper objectMapper,
+                         @Value("${assessment.export.fetch-size:500}") int fetchSize) {
+        this.itemDslPredicate = itemDslPredicate;
+        this.orderDslPredicate = orderDslPredicate;
+        this.modelMapperService = modelMapperService;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportItems(ItemSearch itemSearch, ExportFormat format, OutputStream outputStream) throws IOException {
+        var qItem = QItem.item;
+        var query = new JPAQuery<Item>(entityManager)
+                .select(qItem)
+                .from(qItem)
+                .where(itemDslPredicate.expression(itemSearch));
+        try (var items = stream(query); var writer = createWriter(outputStream)) {
+            if (format == ExportFormat.CSV)
+                writeCsvLine(writer, ITEM_HEADER);
+            for (var iterator = items.iterator(); iterator.hasNext(); ) {
+                var item = iterator.next();
+                if (format == ExportFormat.CSV)
+                    writeCsvLine(writer, List.of(item.getId(), item.getName(), item.getType(), item.getStatus(),
+                            item.getPrice(), item.getCreatedDate(), item.getLastModifiedDate()));
+                else
+                    writeJsonLine(writer, modelMapperService.toObject(ItemDetailDto.class, item));
+                entityManager.detach(item);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderSearch orderSearch, ExportFormat format, OutputStream outputStream) throws IOException {
+        var qOrder = QOrder.order;
+        var query = new JPAQuery<Order>(entityManager)
+                .select(qOrder)
+                .from(qOrder)
+                .where(orderDslPredicate.expression(orderSearch));
+        try (var orders = stream(query); var writer = createWriter(outputStream)) {
+            if (format == ExportFormat.CSV)
+                writeCsvLine(writer, ORDER_HEADER);
+            for (var iterator = orders.iterator(); iterator.hasNext(); ) {
+                var order = iterator.next();
+                if (format == ExportFormat.CSV)
+                    writeCsvLine(writer, List.of(order.getId(), order.getStatus(), order.getDiscount(),
+                            order.getTotal(), order.getTotalProduct(), order.getTotalService(),
+                            order.getCreatedDate(), order.getLastModifiedDate()));
+                else
+                    writeJsonLine(writer, toOrderHeader(order));
+                entityManager.detach(order);
+            }
+        }
+    }
+
+    // private methods
+
+    // Cursor no servidor: o driver do PostgreSQL só busca fetchSize linhas por vez dentro da transação
+    private <T> Stream<T> stream(JPAQuery<T> query) {
+        return query
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
+    }
+
+    // Exporta apenas o cabeçalho do pedido com os totais persistidos, sem carregar orderItems
+    private OrderDetailDto toOrderHeader(Order order) {
+        return OrderDetailDto.builder()
+                .id(order.getId())
+                .discount(order.getDiscount())
+                .status(order.getStatus())
+                .total(order.getTotal())
+                .totalProduct(order.getTotalProduct())
+                .totalService(order.getTotalService())
+                .build();
+    }
+
+    private Writer createWriter(OutputStream outputStream) {
+        return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    private void writeJsonLine(Writer writer, Object value) throws IOException {
+        writer.write(objectWriter.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        writer.write(Csv.line(values));
+        writer.write('\n');
+    }
+}
@@ -1,64 +1,273 @@
 package com.senior.assessment.domain.service;
 
+import com.senior.assessment.config.id.UuidV7Generator;
+import com.senior.assessment.domain.cache.ItemCache;
+import com.senior.assessment.domain.dto.item.ItemBulkResultDto;
+import com.senior.assessment.domain.dto.item.ItemImportResultDto;
+import com.senior.assessment.domain.dto.item.TopSellingItemDto;
 import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
 import com.senior.assessment.domain.querydsl.ItemDslPredicate;
 import com.senior.assessment.domain.querydsl.search.ItemSearch;
+import com.senior.assessment.domain.ranking.TopSellingItems;
 import com.senior.assessment.domain.repository.ItemRepository;
-import com.senior.assessment.domain.repository.OrderItemRepository;
+import com.senior.assessment.domain.repository.ItemRepositoryCustom.NameAndType;
 import com.senior.assessment.infrastructure.exception.CustomException;
+import com.senior.assessment.utilities.Csv;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemService {
+    private static final List<String> IMPORT_HEADER = List.of("name", "type", "price", "status");
+    private static final int IMPORT_MAX_ERRORS = 100;
+    private static final int TOP_SELLING_MAX_LIMIT = 100;
+
     private final ItemRepository itemRepository;
     private final ItemDslPredicate itemDslPredicate;
-    private final OrderItemRepository orderItemRepository;
+    private final ItemCache itemCache;
+    private final TopSellingItems topSellingItems;
+    private final Validator validator;
+
+    // Com true a unicidade de nome/tipo fica a cargo da constraint item_unique_name_by_type: não há consulta prévia,
+    // o INSERT/UPDATE é enviado imediatamente e a violação vira o mesmo 400 no GlobalExceptionHandler
+    @Value("${assessment.item.uniqueness-by-constraint:false}")
+    private boolean uniquenessByConstraint;
 
     @Transactional
     public Item createItem(Item item) {
+        if (uniquenessByConstraint) {
+            var savedItem = itemRepository.saveAndFlush(item);
+            itemCache.evict(savedItem.getId());
+            return savedItem;
+        }
         assertNotExistsItemByNameAndType(item.getName(), item.getType());
-        return itemRepository.save(item);
+        var savedItem = itemRepository.save(item);
+        itemCache.evict(savedItem.getId());
+        return savedItem;
+    }
+
+    // Importação em lote: valida cada linha, verifica unicidade de nome/tipo em uma única consulta e insere as
+    // linhas válidas em lotes. Linhas rejeitadas não impedem as demais; o resultado segue a ordem de entrada.
+    // Nome/tipo gravado por outra transação entre a verificação e o INSERT é ignorado pelo banco e vira o mesmo erro.
+    @Transactional
+    public List<ItemBulkResultDto> createItems(List<Item> items) {
+        var results = new ArrayList<ItemBulkResultDto>(items.size());
+        var validItems = new LinkedHashMap<Integer, Item>();
+        for (var index = 0; index < items.size(); index++) {
+            var errors = validator.validate(items.get(index)).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList();
+            results.add(ItemBulkResultDto.builder()
+                    .index(index)
+                    .errors(new ArrayList<>(errors))
+                    .build());
+            if (errors.isEmpty())
+                validItems.put(index, items.get(index));
+        }
+
+        var existing = itemRepository.findExistingNameAndType(validItems.values().stream()
+                .map(item -> new NameAndType(item.getName(), item.getType()))
+                .collect(Collectors.toSet()));
+        var seen = new HashSet<NameAndType>();
+        var itemsToInsert = new LinkedHashMap<Integer, Item>();
+        validItems.forEach((index, item) -> {
+            var nameAndType = new NameAndType(item.getName(), item.getType());
+            if (existing.contains(nameAndType) || !seen.add(nameAndType))
+                results.get(index).getErrors().add(alreadyItemMessage(item));
+            else
+                itemsToInsert.put(index, item);
+        });
+
+        var inserted = itemRepository.batchInsert(List.copyOf(itemsToInsert.values()));
+        itemsToInsert.forEach((index, item) -> {
+            if (inserted.contains(item.getId())) {
+                results.get(index).setId(item.getId());
+                results.get(index).setCreated(true);
+            } else
+                results.get(index).getErrors().add(alreadyItemMessage(item));
+        });
+        return results;
+    }
+
+    // Carga completa do catálogo por CSV (name,type,price,status): as linhas são validadas com as mesmas regras
+    // de Item enquanto são enviadas via COPY para uma tabela temporária, e um único INSERT ... ON CONFLICT
+    // (name, type) DO UPDATE aplica o resultado. Qualquer linha inválida cancela a carga inteira.
+    @Transactional
+    public ItemImportResultDto importItems(Reader reader) {
+        var bufferedReader = new BufferedReader(reader);
+        assertImportHeader(readLine(bufferedReader));
+        var received = new AtomicLong();
+        var rejected = new AtomicLong();
+        var errors = new ArrayList<String>();
+
+        itemRepository.createImportStaging();
+        var validItems = Csv.records(bufferedReader, 2)
+                .filter(record -> !record.text().isBlank())
+                .map(record -> {
+                    received.incrementAndGet();
+                    var lineErrors = new ArrayList<String>();
+                    var item = parseImportLine(record.text(), lineErrors);
+                    if (lineErrors.isEmpty())
+                        validator.validate(item).stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .forEach(lineErrors::add);
+                    if (lineErrors.isEmpty())
+                        return item;
+                    rejected.incrementAndGet();
+                    lineErrors.stream()
+                            .limit(Math.max(0, IMPORT_MAX_ERRORS - errors.size()))
+                            .forEach(error -> errors.add(String.format("line %d: %s", record.line(), error)));
+                    return null;
+                })
+                .filter(Objects::nonNull);
+        var copied = itemRepository.copyToImportStaging(validItems);
+
+        var result = ItemImportResultDto.builder()
+                .received(received.get())
+                .rejected(rejected.get())
+                .errors(errors)
+                .build();
+        if (rejected.get() > 0)
+            return result;
+
+        var mergeCount = itemRepository.mergeImportStaging(LocalDateTime.now());
+        result.setInserted(mergeCount.inserted());
+        result.setUpdated(mergeCount.updated());
+        result.setUnchanged(copied - mergeCount.inserted() - mergeCount.updated());
+        itemCache.invalidateAll();
+        return result;
     }
 
     @Transactional
     public Item updateItem(UUID itemId, Item updatedItem) {
-        var item = getItemById(itemId);
+        // Carrega do banco: a instância do cache é compartilhada e não pode ser alterada
+        var item = itemRepository.findById(itemId)
+                .orElseThrow(() -> notFoundItem(itemId));
+        if (uniquenessByConstraint) {
+            updateValues(item, updatedItem);
+            itemCache.evict(item.getId());
+            return itemRepository.saveAndFlush(item);
+        }
         assertNotExistsItemByNameAndTypeAndIdNot(updatedItem.getName(), updatedItem.getType(), item.getId());
         updateValues(item, updatedItem);
+        itemCache.evict(item.getId());
         return itemRepository.save(item);
     }
 
     public Item getItemById(UUID itemId) {
-        return itemRepository.findById(itemId)
-                .orElseThrow(() -> CustomException.builder()
-                        .httpStatus(HttpStatus.NOT_FOUND)
-                        .message(String.format("Cannot found item with id %s.", itemId))
-                        .build()
-                );
+        return itemCache.get(itemId)
+                .orElseThrow(() -> notFoundItem(itemId));
     }
 
+    // Um único DELETE condicionado à ausência de pedidos; as verificações só rodam quando nada foi excluído
     @Transactional
     public void deleteItemById(UUID itemId) {
-        assertExistsItemById(itemId);
-        assertNotLinkedItemWithOrder(itemId);
-        itemRepository.deleteById(itemId);
+        if (itemRepository.deleteByIdWhereNotLinkedWithOrder(itemId) == 0)
+            assertNotLinkedItemWithOrder(itemId);
+        itemCache.evict(itemId);
     }
 
     public Page<Item> getAllItem(ItemSearch itemSearch, Pageable pagination) {
         return itemRepository.findAll(itemDslPredicate.expression(itemSearch), pagination);
     }
 
+    public Window<Item> getAllItem(ItemSearch itemSearch, ScrollPosition position, int limit, Sort sort) {
+        return itemRepository.findBy(itemDslPredicate.expression(itemSearch), query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(position)
+        );
+    }
+
+    // Lido do ranking em memória (sem consulta a dbo.order_items); nome e tipo vêm do cache de itens
+    public List<TopSellingItemDto> getTopSellingItems(int limit) {
+        if (limit < 1 || limit > TOP_SELLING_MAX_LIMIT)
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("Limit must be between 1 and %d.", TOP_SELLING_MAX_LIMIT))
+                    .build();
+        var topItems = topSellingItems.top(limit);
+        var items = itemCache.getAll(topItems.stream()
+                        .map(TopSellingItems.ItemUnits::itemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        return topItems.stream()
+                .filter(itemUnits -> items.containsKey(itemUnits.itemId()))
+                .map(itemUnits -> TopSellingItemDto.builder()
+                        .itemId(itemUnits.itemId())
+                        .name(items.get(itemUnits.itemId()).getName())
+                        .type(items.get(itemUnits.itemId()).getType())
+                        .units(itemUnits.units())
+                        .build())
+                .toList();
+    }
+
     // privates methods
 
+    private String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void assertImportHeader(String header) {
+        if (header == null || !IMPORT_HEADER.equals(Csv.parseLine(header.strip().toLowerCase(Locale.ROOT))))
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("Invalid CSV header, expected: %s.", String.join(",", IMPORT_HEADER)))
+                    .build();
+    }
+
+    private Item parseImportLine(String line, List<String> errors) {
+        var fields = Csv.parseLine(line);
+        if (fields.size() != IMPORT_HEADER.size()) {
+            errors.add(String.format("expected %d columns but found %d", IMPORT_HEADER.size(), fields.size()));
+            return null;
+        }
+        var item = Item.builder()
+                .id(UuidV7Generator.randomUuid())
+                .name(fields.get(0).trim())
+                .type(ItemType.of(fields.get(1).trim()))
+                .status(ItemStatus.of(fields.get(3).trim()))
+                .build();
+        try {
+            item.setPrice(new BigDecimal(fields.get(2).trim()));
+        } catch (NumberFormatException e) {
+            errors.add("price: invalid number");
+        }
+        return item;
+    }
+
+    private String alreadyItemMessage(Item item) {
+        return String.format("Already item with this name: %s, itemType: %s.", item.getName(), item.getType());
+    }
+
     private void updateValues(Item item, Item updatedItem) {
         item.setName(updatedItem.getName());
         item.setType(updatedItem.getType());
@@ -66,12 +275,11 @@ public class ItemService {
         item.setStatus(updatedItem.getStatus());
     }
 
-    private void assertExistsItemById(UUID itemId) {
-        if (!itemRepository.existsItemById(itemId))
-            throw CustomException.builder()
-                    .httpStatus(HttpStatus.NOT_FOUND)
-                    .message(String.format("Cannot found item with id %s.", itemId))
-                    .build();
+    private CustomException notFoundItem(UUID itemId) {
+        return CustomException.builder()
+                .httpStatus(HttpStatus.NOT_FOUND)
+                .message(String.format("Cannot found item with id %s.", itemId))
+                .build();
     }
 
     private void assertNotExistsItemByNameAndType(String name, ItemType type) {
@@ -90,8 +298,11 @@ public class ItemService {
                     .build();
     }
 
+    // Uma leitura pela PK distingue item inexistente (404) de item vinculado a pedido (400)
     private void assertNotLinkedItemWithOrder(UUID itemId) {
-        if (orderItemRepository.existsOrderItemByItemId(itemId))
+        var orderLineCount = itemRepository.findOrderLineCountById(itemId)
+                .orElseThrow(() -> notFoundItem(itemId));
+        if (orderLineCount > 0)
             throw CustomException.builder()
                     .httpStatus(HttpStatus.BAD_REQUEST)
                     .message("Cannot delete item because have linked order.")
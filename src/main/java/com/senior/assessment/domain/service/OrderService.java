@@ -1,30 +1,46 @@
 package com.senior.assessment.domain.service;
 
+import com.senior.assessment.domain.cache.ItemCache;
+import com.senior.assessment.domain.dto.order.OrderStatusBatchResultDto;
+import com.senior.assessment.domain.dto.order.intake.OrderIntakeDto;
 import com.senior.assessment.domain.entity.Item;
 import com.senior.assessment.domain.entity.Order;
 import com.senior.assessment.domain.entity.OrderItem;
 import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderEventType;
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
 import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.outbox.OrderOutbox;
 import com.senior.assessment.domain.querydsl.OrderDslPredicate;
 import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import com.senior.assessment.domain.ranking.TopSellingItems;
 import com.senior.assessment.domain.repository.ItemRepository;
 import com.senior.assessment.domain.repository.OrderItemRepository;
 import com.senior.assessment.domain.repository.OrderRepository;
 import com.senior.assessment.infrastructure.exception.CustomException;
+import com.senior.assessment.utilities.Utils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+    private final ItemCache itemCache;
     private final ItemRepository itemRepository;
     private final OrderRepository orderRepository;
 
@@ -32,49 +48,249 @@ public class OrderService {
 
     private final OrderItemRepository orderItemRepository;
 
+    private final OrderOutbox orderOutbox;
+
+    private final TopSellingItems topSellingItems;
+
     @Transactional
     public Order createOrder(Order order) {
         prepareOrder(order);
-        return orderRepository.save(order);
+        updateTotals(order);
+        var savedOrder = orderRepository.save(order);
+        orderOutbox.append(Set.of(savedOrder.getId()), OrderEventType.CREATED);
+        topSellingItems.record(unitsByItem(savedOrder.getOrderItems()));
+        addOrderLineCounts(linesByItem(savedOrder.getOrderItems()));
+        return savedOrder;
+    }
+
+    // Cria um grupo de pedidos em uma única transação: uma busca combinada dos itens de todos os pedidos, as mesmas
+    // validações do createOrder por pedido e um saveAll em lote dos aceitos. Um pedido rejeitado não impede os
+    // demais; o resultado segue a ordem da lista recebida.
+    @Transactional
+    public List<OrderIntakeDto> createOrders(List<Order> orders) {
+        var itemsMap = getItemsMap(orders.stream()
+                .flatMap(order -> extractItemIds(order.getOrderItems()).stream())
+                .collect(Collectors.toSet()));
+        var results = new ArrayList<OrderIntakeDto>(orders.size());
+        var acceptedOrders = new ArrayList<Order>();
+        var acceptedResults = new ArrayList<OrderIntakeDto>();
+        for (var order : orders) {
+            try {
+                prepareOrder(order, itemsMap);
+                updateTotals(order);
+                var result = OrderIntakeDto.builder().status(OrderIntakeStatus.CREATED).build();
+                acceptedOrders.add(order);
+                acceptedResults.add(result);
+                results.add(result);
+            } catch (CustomException e) {
+                results.add(OrderIntakeDto.builder()
+                        .status(OrderIntakeStatus.REJECTED)
+                        .errorStatus(e.getHttpStatus().value())
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+
+        orderRepository.saveAll(acceptedOrders);
+        for (var index = 0; index < acceptedOrders.size(); index++)
+            acceptedResults.get(index).setOrderId(acceptedOrders.get(index).getId());
+        orderOutbox.append(acceptedOrders.stream().map(Order::getId).toList(), OrderEventType.CREATED);
+        var acceptedOrderItems = acceptedOrders.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .toList();
+        topSellingItems.record(unitsByItem(acceptedOrderItems));
+        addOrderLineCounts(linesByItem(acceptedOrderItems));
+        return results;
     }
 
     @Transactional
     public Order updateOrder(UUID orderId, Order updatedOrder) {
-        var order = getOrderById(orderId);
+        // Bloqueado (FOR UPDATE) como no patchOrderItems: um PUT e um PATCH concorrentes não perdem os deltas
+        var order = orderRepository.findForUpdateById(orderId).orElseThrow(() -> notFoundOrder(orderId));
         assertOrderIsOpen(order, String.format("Cannot edit order because is %s.", OrderStatus.CLOSED));
+        // Lido antes do prepareUpdateOrder, que altera as quantidades das linhas já gerenciadas
+        var previousUnits = unitsByItem(order.getOrderItems());
+        var previousLines = linesByItem(order.getOrderItems());
         prepareUpdateOrder(order.getId(), updatedOrder);
         updateValues(order, updatedOrder);
-        return orderRepository.save(order);
+        updateTotals(order);
+        var savedOrder = orderRepository.save(order);
+        orderOutbox.append(Set.of(savedOrder.getId()), OrderEventType.UPDATED);
+        topSellingItems.record(deltaByItem(previousUnits, unitsByItem(savedOrder.getOrderItems())));
+        addOrderLineCounts(deltaByItem(previousLines, linesByItem(savedOrder.getOrderItems())));
+        return savedOrder;
     }
 
     @Transactional
     public void deleteOrderById(UUID orderId) {
         var order = getOrderById(orderId);
         assertOrderIsOpen(order, String.format("Cannot delete order %s.", OrderStatus.CLOSED));
+        var previousUnits = unitsByItem(order.getOrderItems());
+        var previousLines = linesByItem(order.getOrderItems());
         orderRepository.deleteById(order.getId());
+        topSellingItems.record(deltaByItem(previousUnits, Map.of()));
+        addOrderLineCounts(deltaByItem(previousLines, Map.of()));
+    }
+
+    // Aplica apenas as operações informadas sobre as linhas do pedido: INSERT das novas, UPDATE das quantidades
+    // alteradas e DELETE das removidas, sem carregar a coleção inteira. Os totais são ajustados pela diferença de
+    // cada linha afetada; o pedido fica bloqueado (FOR UPDATE), como no updateOrder, para que PATCH e PUT
+    // concorrentes não percam deltas.
+    @Transactional
+    public Order patchOrderItems(UUID orderId, List<OrderItem> addedOrderItems, Map<UUID, Integer> changedAmounts,
+                                 Set<UUID> removedOrderItemIds) {
+        assertHasOrderItemOperations(addedOrderItems, changedAmounts, removedOrderItemIds);
+        var order = orderRepository.findForUpdateById(orderId).orElseThrow(() -> notFoundOrder(orderId));
+        assertOrderIsOpen(order, String.format("Cannot edit order because is %s.", OrderStatus.CLOSED));
+        assertOrderItemsNotChangedAndRemoved(changedAmounts.keySet(), removedOrderItemIds);
+
+        var subtotalProduct = order.getSubtotalProduct();
+        var totalService = order.getTotalService();
+        var unitsDelta = new HashMap<UUID, Long>();
+        var linesDelta = new HashMap<UUID, Long>();
+
+        var orderItemsIds = new HashSet<>(changedAmounts.keySet());
+        orderItemsIds.addAll(removedOrderItemIds);
+        for (var orderItem : getOrderItems(orderId, orderItemsIds)) {
+            var amount = removedOrderItemIds.contains(orderItem.getId()) ? 0 : changedAmounts.get(orderItem.getId());
+            var delta = orderItem.getItemPrice().multiply(BigDecimal.valueOf(amount - orderItem.getAmount()));
+            unitsDelta.merge(orderItem.getItem().getId(), (long) amount - orderItem.getAmount(), Long::sum);
+            if (amount == 0)
+                linesDelta.merge(orderItem.getItem().getId(), -1L, Long::sum);
+            if (orderItem.getItem().getType() == ItemType.PRODUCT)
+                subtotalProduct = subtotalProduct.add(delta);
+            else
+                totalService = totalService.add(delta);
+            if (amount > 0)
+                orderItem.setAmount(amount);
+        }
+
+        if (!addedOrderItems.isEmpty()) {
+            updateItemsToOrderItems(addedOrderItems);
+            for (var orderItem : addedOrderItems) {
+                orderItem.setId(null);
+                orderItem.setOrder(order);
+                orderItem.setItemPrice(orderItem.getItem().getPrice());
+                unitsDelta.merge(orderItem.getItem().getId(), (long) orderItem.getAmount(), Long::sum);
+                linesDelta.merge(orderItem.getItem().getId(), 1L, Long::sum);
+                var total = orderItem.getItemPrice().multiply(BigDecimal.valueOf(orderItem.getAmount()));
+                if (orderItem.getItem().getType() == ItemType.PRODUCT)
+                    subtotalProduct = subtotalProduct.add(total);
+                else
+                    totalService = totalService.add(total);
+            }
+            orderItemRepository.saveAll(addedOrderItems);
+        }
+
+        if (!removedOrderItemIds.isEmpty()) {
+            orderItemRepository.deleteAllByIdInBatch(removedOrderItemIds);
+            assertOrderHasOrderItems(orderId);
+        }
+
+        setTotals(order, subtotalProduct, totalService);
+        if (order.getDiscount() > 0D && order.getSubtotalProduct().signum() == 0)
+            throw missingProductItem();
+        orderOutbox.append(Set.of(order.getId()), OrderEventType.UPDATED);
+        topSellingItems.record(unitsDelta);
+        linesDelta.values().removeIf(lines -> lines == 0);
+        addOrderLineCounts(linesDelta);
+        return order;
     }
 
     public Order getOrderById(UUID orderId) {
         return orderRepository.findById(orderId)
-                .orElseThrow(() -> CustomException.builder()
-                        .httpStatus(HttpStatus.NOT_FOUND)
-                        .message(String.format("Cannot found order with id %s.", orderId))
-                        .build()
-                );
+                .orElseThrow(() -> notFoundOrder(orderId));
     }
 
+    @Transactional(readOnly = true)
     public Page<Order> getAllOrder(OrderSearch orderSearch, Pageable pagination) {
-        return orderRepository.findAll(orderDslPredicate.expression(orderSearch), pagination);
+        var orders = orderRepository.findAll(orderDslPredicate.expression(orderSearch), pagination);
+        fetchOrderItems(orders.getContent());
+        return orders;
     }
 
+    @Transactional(readOnly = true)
+    public Window<Order> getAllOrder(OrderSearch orderSearch, ScrollPosition position, int limit, Sort sort) {
+        var orders = orderRepository.findBy(orderDslPredicate.expression(orderSearch), query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(position)
+        );
+        fetchOrderItems(orders.getContent());
+        return orders;
+    }
+
+    // Um único UPDATE condicionado a OPENED; o pedido só é lido quando nada foi alterado, para responder o motivo
     @Transactional
     public void updateStatus(UUID orderId, OrderStatus orderStatus) {
-        var order = getOrderById(orderId);
-        assertOrderIsOpen(order, String.format("Order %s already %s.", order.getId(), OrderStatus.CLOSED));
-        orderRepository.updateStatus(order.getId(), orderStatus);
+        if (orderRepository.updateStatus(orderId, OrderStatus.OPENED, orderStatus) == 0) {
+            var order = getOrderById(orderId);
+            assertOrderIsOpen(order, String.format("Order %s already %s.", order.getId(), OrderStatus.CLOSED));
+        }
+        orderOutbox.append(Set.of(orderId), OrderEventType.CLOSED);
+    }
+
+    // Fecha vários pedidos com um único UPDATE ... WHERE status = OPENED, sem carregar as entidades
+    @Transactional
+    public OrderStatusBatchResultDto updateStatus(Set<UUID> orderIds, OrderStatus orderStatus) {
+        var statusChange = orderRepository.updateStatusWhereOpened(orderIds, orderStatus, LocalDateTime.now());
+        orderOutbox.append(statusChange.changed(), OrderEventType.CLOSED);
+        var missing = orderIds.stream()
+                .filter(orderId -> !statusChange.changed().contains(orderId) &&
+                        !statusChange.unchanged().contains(orderId))
+                .collect(Collectors.toSet());
+        return OrderStatusBatchResultDto.builder()
+                .transitioned(statusChange.changed())
+                .skipped(statusChange.unchanged())
+                .missing(missing)
+                .build();
+    }
+
+    // Fecha todos os pedidos abertos que atendem à busca com um único UPDATE ... RETURNING
+    @Transactional
+    public OrderStatusBatchResultDto updateStatus(OrderSearch orderSearch, OrderStatus orderStatus) {
+        assertHasSearchFilter(orderSearch);
+        var changed = orderRepository.updateStatusWhereOpened(orderSearch, orderStatus, LocalDateTime.now());
+        orderOutbox.append(changed, OrderEventType.CLOSED);
+        return OrderStatusBatchResultDto.builder()
+                .transitioned(changed)
+                .build();
     }
 
     // private methods
+
+    // Segunda fase da listagem: a página traz apenas as linhas de dbo.order e esta única consulta inicializa
+    // orderItems e item dos pedidos já gerenciados no contexto de persistência, evitando o N+1 no mapeamento.
+    private void fetchOrderItems(List<Order> orders) {
+        if (orders.isEmpty()) return;
+        orderRepository.findAllFetchOrderItemsByIdIn(orders.stream().map(Order::getId).toList());
+    }
+
+    private static Map<UUID, Long> unitsByItem(Collection<OrderItem> orderItems) {
+        return orderItems.stream()
+                .collect(Collectors.groupingBy(orderItem -> orderItem.getItem().getId(),
+                        Collectors.summingLong(OrderItem::getAmount)));
+    }
+
+    private static Map<UUID, Long> linesByItem(Collection<OrderItem> orderItems) {
+        return orderItems.stream()
+                .collect(Collectors.groupingBy(orderItem -> orderItem.getItem().getId(), Collectors.counting()));
+    }
+
+    // Variação por item (unidades ou linhas) entre duas versões das linhas; itens sem variação ficam de fora
+    private static Map<UUID, Long> deltaByItem(Map<UUID, Long> previous, Map<UUID, Long> current) {
+        var delta = new HashMap<>(current);
+        previous.forEach((itemId, value) -> delta.merge(itemId, -value, Long::sum));
+        delta.values().removeIf(value -> value == 0);
+        return delta;
+    }
+
+    // Mantém dbo.item.order_line_count na mesma transação das linhas e invalida o cache de cada item atualizado
+    private void addOrderLineCounts(Map<UUID, Long> linesDelta) {
+        if (linesDelta.isEmpty()) return;
+        itemRepository.addOrderLineCounts(linesDelta).forEach(itemCache::evict);
+    }
+
     private void updateValues(Order order, Order updatedOrder) {
         order.setDiscount(updatedOrder.getDiscount());
         order.getOrderItems().clear();
@@ -82,8 +298,58 @@ public class OrderService {
         setOrderToOrderItems(order);
     }
 
+    private CustomException notFoundOrder(UUID orderId) {
+        return CustomException.builder()
+                .httpStatus(HttpStatus.NOT_FOUND)
+                .message(String.format("Cannot found order with id %s.", orderId))
+                .build();
+    }
+
+    private CustomException missingProductItem() {
+        return CustomException.builder()
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .message(String.format(
+                        "Cannot apply discount in order because not contain item %s.",
+                        ItemType.PRODUCT)
+                ).build();
+    }
+
+    private void updateTotals(Order order) {
+        var totalProduct = BigDecimal.ZERO;
+        var totalService = BigDecimal.ZERO;
+        for (var orderItem : order.getOrderItems()) {
+            var orderItemTotal = orderItem.getItemPrice().multiply(BigDecimal.valueOf(orderItem.getAmount()));
+            if (orderItem.getItem().getType() == ItemType.PRODUCT)
+                totalProduct = totalProduct.add(orderItemTotal);
+            else
+                totalService = totalService.add(orderItemTotal);
+        }
+        setTotals(order, totalProduct, totalService);
+    }
+
+    private void setTotals(Order order, BigDecimal subtotalProduct, BigDecimal totalService) {
+        order.setSubtotalProduct(subtotalProduct.setScale(2, RoundingMode.HALF_UP));
+        order.setTotalProduct(subtotalProduct
+                .multiply(BigDecimal.valueOf(1 - order.getDiscount()))
+                .setScale(2, RoundingMode.HALF_UP));
+        order.setTotalService(totalService.setScale(2, RoundingMode.HALF_UP));
+        order.setTotal(order.getTotalProduct().add(order.getTotalService()));
+    }
+
     private void prepareOrder(Order order) {
-        updateItemsToOrderItems(order.getOrderItems());
+        prepareOrder(order, getItemsMap(extractItemIds(order.getOrderItems())));
+    }
+
+    // Recebe os itens já buscados (possivelmente de vários pedidos) e valida apenas os referenciados por este pedido
+    private void prepareOrder(Order order, Map<UUID, Item> itemsMap) {
+        var itemsIds = extractItemIds(order.getOrderItems());
+        var items = itemsIds.stream()
+                .map(itemsMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        assertExistsAllItems(itemsIds, items);
+        assertAllProductsItemsAreActive(items);
+        order.getOrderItems().forEach(orderItem -> orderItem.setItem(itemsMap.get(orderItem.getItem().getId())));
         setOrderToOrderItems(order);
         setItemPriceToNewOrderItems(order.getOrderItems());
         setOrderItemsIdNullWhenOrderIdIsNull(order);
@@ -159,12 +425,24 @@ public class OrderService {
     }
 
     private Set<Item> getItems(Set<UUID> itemsIds) {
-        var items = itemRepository.getAllByIdIn(itemsIds);
+        var items = itemCache.getAll(itemsIds);
         assertExistsAllItems(itemsIds, items);
         assertAllProductsItemsAreActive(items);
         return items;
     }
 
+    private Map<UUID, Item> getItemsMap(Set<UUID> itemsIds) {
+        return itemCache.getAll(itemsIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+    }
+
+    private Set<OrderItem> getOrderItems(UUID orderId, Set<UUID> orderItemsIds) {
+        if (orderItemsIds.isEmpty()) return Collections.emptySet();
+        var orderItems = orderItemRepository.findAllFetchItemByOrderIdAndIdIn(orderId, orderItemsIds);
+        assertExistsAllOrderItems(orderItemsIds, orderItems);
+        return orderItems;
+    }
+
     private Set<OrderItem> getOrderItems(Order order) {
         var orderItemsIds = order.getOrderItems().stream()
                 .map(OrderItem::getId)
@@ -228,12 +506,46 @@ public class OrderService {
                 .isEmpty();
 
         if (notContainsProductItem)
+            throw missingProductItem();
+    }
+
+    private void assertHasOrderItemOperations(List<OrderItem> addedOrderItems, Map<UUID, Integer> changedAmounts,
+                                              Set<UUID> removedOrderItemIds) {
+        if (addedOrderItems.isEmpty() && changedAmounts.isEmpty() && removedOrderItemIds.isEmpty())
             throw CustomException.builder()
                     .httpStatus(HttpStatus.BAD_REQUEST)
-                    .message(String.format(
-                            "Cannot apply discount in order because not contain item %s.",
-                            ItemType.PRODUCT)
-                    ).build();
+                    .message("Required at least one order item operation.")
+                    .build();
+    }
+
+    // Sem filtro o UPDATE fecharia todos os pedidos em aberto
+    private void assertHasSearchFilter(OrderSearch orderSearch) {
+        if (Stream.of(orderSearch.id(), orderSearch.query(), orderSearch.itemType(), orderSearch.status(),
+                orderSearch.minTotal(), orderSearch.maxTotal()).noneMatch(Utils::isPresent))
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message("Required at least one search filter.")
+                    .build();
+    }
+
+    private void assertOrderItemsNotChangedAndRemoved(Set<UUID> changedOrderItemsIds, Set<UUID> removedOrderItemIds) {
+        var conflictingIds = changedOrderItemsIds.stream()
+                .filter(removedOrderItemIds::contains)
+                .collect(Collectors.toSet());
+
+        if (!conflictingIds.isEmpty())
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("Cannot change and remove order items: %s.", conflictingIds))
+                    .build();
+    }
+
+    private void assertOrderHasOrderItems(UUID orderId) {
+        if (!orderItemRepository.existsOrderItemByOrderId(orderId))
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message("Cannot remove all order items, required min one items.")
+                    .build();
     }
 
     private void assertExistsAllOrderItems(Set<UUID> orderItemsIdsToUpdate, Set<OrderItem> foundOrderItems) {
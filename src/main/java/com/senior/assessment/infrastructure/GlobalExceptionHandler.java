@@ -1,6 +1,8 @@
 package com.senior.assessment.infrastructure;
 
 import com.senior.assessment.infrastructure.exception.CustomException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,10 +14,15 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final String ITEM_UNIQUE_NAME_BY_TYPE = "item_unique_name_by_type";
+    // Detalhe da violação de unicidade do PostgreSQL: Key (name, type)=(Ebook, PRODUCT) already exists.
+    private static final Pattern ITEM_UNIQUE_NAME_BY_TYPE_DETAIL =
+            Pattern.compile("Key \\(name, type\\)=\\((.*), (\\w+)\\) already exists\\.");
 
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<ErrorResponse> handleCustomException(CustomException customException) {
@@ -39,11 +46,27 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException exception) {
         var errorResponse = ErrorResponse.builder()
                 .status(HttpStatus.BAD_REQUEST.value())
-                .message(exception.getCause().getCause().getMessage())
+                .message(getItemUniqueNameByTypeMessage(exception)
+                        .orElseGet(() -> exception.getMostSpecificCause().getMessage()))
                 .build();
         return ResponseEntity.status(errorResponse.getStatus()).body(errorResponse);
     }
 
+    // Mesma mensagem da verificação prévia do ItemService quando a unicidade é garantida pela constraint
+    private static Optional<String> getItemUniqueNameByTypeMessage(DataIntegrityViolationException exception) {
+        if (!(exception.getMostSpecificCause() instanceof PSQLException psqlException)
+                || !PSQLState.UNIQUE_VIOLATION.getState().equals(psqlException.getSQLState())
+                || psqlException.getServerErrorMessage() == null
+                || !ITEM_UNIQUE_NAME_BY_TYPE.equals(psqlException.getServerErrorMessage().getConstraint()))
+            return Optional.empty();
+
+        var matcher = ITEM_UNIQUE_NAME_BY_TYPE_DETAIL.matcher(
+                Optional.ofNullable(psqlException.getServerErrorMessage().getDetail()).orElse(""));
+        return Optional.of(matcher.matches()
+                ? String.format("Already item with this name: %s, itemType: %s.", matcher.group(1), matcher.group(2))
+                : "Already item with this name and itemType.");
+    }
+
     private static Map<String, List<String>> getMethodArgumentsNotValid(MethodArgumentNotValidException ex) {
         return ex.getBindingResult()
                 .getFieldErrors()
@@ -0,0 +1,45 @@
+package com.senior.assessment.rest;
+
+import com.senior.assessment.domain.dto.analytics.SalesDto;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.enums.SalesGrouping;
+import com.senior.assessment.domain.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("analytics")
+@Tag(name = "Analytics",
+        description = "Contém as consultas agregadas de vendas dos pedidos"
+)
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+
+    @Operation(summary = "Operação para retornar receita, unidades e quantidade de pedidos por dia.",
+            description = "groupBy define o nível: DAY (por dia), ITEM_TYPE (por dia e tipo de item) ou ITEM (por " +
+                    "dia e item). Cada linha é separada por status (OPENED/CLOSED) e pode ser filtrada por status e " +
+                    "itemType (este último só com ITEM_TYPE ou ITEM). from/to (yyyy-MM-dd) usam a data de criação do " +
+                    "pedido, padrão os últimos 30 dias, com no máximo 366 dias por consulta. Os dados vêm de " +
+                    "agregados atualizados periodicamente, podendo estar atrasados em até o intervalo de atualização.")
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesDto>> getSales(
+            @RequestParam(required = false, defaultValue = "DAY") SalesGrouping groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) ItemType itemType) {
+        return ResponseEntity.ok(analyticsService.getSales(groupBy, from, to, status, itemType));
+    }
+}
@@ -2,23 +2,42 @@ package com.senior.assessment.rest;
 
 import com.senior.assessment.config.mapper.ModelMapperService;
 import com.senior.assessment.domain.dto.PageResult;
+import com.senior.assessment.domain.dto.SliceResult;
+import com.senior.assessment.domain.dto.item.ItemBulkResultDto;
 import com.senior.assessment.domain.dto.item.ItemCreateUpdateDto;
 import com.senior.assessment.domain.dto.item.ItemDetailDto;
+import com.senior.assessment.domain.dto.item.ItemImportResultDto;
+import com.senior.assessment.domain.dto.item.TopSellingItemDto;
 import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ExportFormat;
 import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.idempotency.IdempotencyService;
 import com.senior.assessment.domain.querydsl.search.ItemSearch;
+import com.senior.assessment.domain.service.ExportService;
 import com.senior.assessment.domain.service.ItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 
+import static com.senior.assessment.domain.idempotency.IdempotencyService.IDEMPOTENCY_KEY_HEADER;
+import static com.senior.assessment.utilities.KeysetCursor.decode;
 import static com.senior.assessment.utilities.Utils.createPagination;
+import static com.senior.assessment.utilities.Utils.createScrollPosition;
+import static com.senior.assessment.utilities.Utils.createSort;
+import static com.senior.assessment.utilities.Utils.validItemsPerPage;
 
 @RestController
 @RequiredArgsConstructor
@@ -28,15 +47,46 @@ import static com.senior.assessment.utilities.Utils.createPagination;
 )
 public class ItemController {
     private final ItemService itemService;
+    private final ExportService exportService;
     private final ModelMapperService modelMapperService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "Operação para criar um item(Serviço/Produto).",
-            description = "Olhe o schema ItemCreateUpdateDto para verificar as regras de cadastro."
+            description = "Olhe o schema ItemCreateUpdateDto para verificar as regras de cadastro. Com o header " +
+                    "Idempotency-Key as retentativas com a mesma chave devolvem o item já criado."
     )
     @PostMapping
-    public ResponseEntity<ItemDetailDto> create(@Valid @RequestBody ItemCreateUpdateDto itemCreate) {
-        var item = itemService.createItem(modelMapperService.toObject(Item.class, itemCreate));
-        return ResponseEntity.ok(modelMapperService.toObject(ItemDetailDto.class, item));
+    public ResponseEntity<ItemDetailDto> create(@Valid @RequestBody ItemCreateUpdateDto itemCreate,
+                                          @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                          String idempotencyKey) {
+        return idempotencyService.execute("POST /items", idempotencyKey, itemCreate, ItemDetailDto.class, () -> {
+            var item = itemService.createItem(modelMapperService.toObject(Item.class, itemCreate));
+            return ResponseEntity.ok(modelMapperService.toObject(ItemDetailDto.class, item));
+        });
+    }
+
+    @Operation(summary = "Operação para criar items(Serviço/Produto) em lote.",
+            description = "Recebe uma lista de ItemCreateUpdateDto e retorna o resultado de cada linha na mesma ordem " +
+                    "(index, id quando criado e errors quando rejeitado). Linhas inválidas ou com nome/tipo já " +
+                    "existente são rejeitadas sem impedir a criação das demais.")
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ItemBulkResultDto>> createBulk(@RequestBody List<ItemCreateUpdateDto> itemsCreate) {
+        var items = itemsCreate.stream()
+                .map(itemCreate -> modelMapperService.toObject(Item.class, itemCreate))
+                .toList();
+        return ResponseEntity.ok(itemService.createItems(items));
+    }
+
+    @Operation(summary = "Operação para carga completa do catálogo de items(Serviço/Produto) por CSV.",
+            description = "Recebe um CSV (text/csv) com cabeçalho name,type,price,status. Itens com mesmo nome e tipo " +
+                    "são atualizados (price/status) e os demais inseridos. Se alguma linha for inválida nada é " +
+                    "aplicado e o retorno 400 lista os erros por linha.")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ItemImportResultDto> importCsv(InputStream csv) {
+        var result = itemService.importItems(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        return result.getRejected() > 0
+                ? ResponseEntity.badRequest().body(result)
+                : ResponseEntity.ok(result);
     }
 
     @Operation(summary = "Operação para atualizar um item(Serviço/Produto) por meio do ID.",
@@ -49,6 +99,17 @@ public class ItemController {
                 modelMapperService.toObject(ItemDetailDto.class, itemService.updateItem(itemId, item))
         );
     }
+
+    @Operation(summary = "Operação para retornar os items(Serviço/Produto) mais vendidos.",
+            description = "Retorna até limit (1 a 100, padrão 10) itens ordenados pela soma das quantidades nas linhas " +
+                    "de pedidos existentes (abertos e fechados). Os valores vêm de um ranking em memória atualizado a " +
+                    "cada pedido gravado e recalculado periodicamente a partir do banco.")
+    @GetMapping("/top-sellers")
+    public ResponseEntity<List<TopSellingItemDto>> getTopSellingItems(
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        return ResponseEntity.ok(itemService.getTopSellingItems(limit));
+    }
+
     @Operation(summary = "Operação para retornar um item(Serviço/Produto) por meio do ID.")
     @GetMapping("/{itemId}")
     public ResponseEntity<ItemDetailDto> getById(@PathVariable(name = "itemId") UUID itemId) {
@@ -66,7 +127,8 @@ public class ItemController {
     }
 
     @Operation(summary = "Operação para retornar uma página de items(Serviço/Produto).",
-            description = "Neste endpoint é possível aplicar os filtros e mudar paginação.")
+            description = "Neste endpoint é possível aplicar os filtros e mudar paginação. Com sortName=orderLineCount " +
+                    "e sort=DESC os items são ordenados por popularidade (quantidade de linhas de pedido).")
     @GetMapping
     public ResponseEntity<PageResult<ItemDetailDto>> getAllItem(
             @RequestParam(required = false) UUID itemId,
@@ -87,4 +149,77 @@ public class ItemController {
         var result = itemService.getAllItem(itemSearch, pagination);
         return ResponseEntity.ok(modelMapperService.toPage(ItemDetailDto.class, result));
     }
+
+    @Operation(summary = "Operação para retornar uma página de items(Serviço/Produto) sem contagem.",
+            description = "Com count=false não é executada a consulta de totalPages/totalResults, retornando apenas " +
+                    "hasNext. Indicado para listagens com scroll infinito. itemsPerPage deve estar entre 1 e " +
+                    "1000.")
+    @GetMapping(params = {"count=false", "!after"})
+    public ResponseEntity<SliceResult<ItemDetailDto>> getAllItemSlice(
+            @RequestParam(required = false) UUID itemId,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) ItemType type,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int itemsPerPage,
+            @RequestParam(required = false, defaultValue = "ASC") String sort,
+            @RequestParam(required = false, defaultValue = "id") String sortName) {
+        var itemSearch = ItemSearch.builder()
+                .id(itemId)
+                .query(query)
+                .type(type)
+                .status(status)
+                .build();
+        var position = createScrollPosition(page, itemsPerPage);
+        var result = itemService.getAllItem(itemSearch, position, itemsPerPage, createSort(sort, sortName));
+        return ResponseEntity.ok(modelMapperService.toSlice(ItemDetailDto.class, result));
+    }
+
+    @Operation(summary = "Operação para retornar uma página de items(Serviço/Produto) por cursor.",
+            description = "Paginação por keyset: informe after vazio na primeira chamada e depois o nextCursor " +
+                    "retornado. O custo de cada página independe da profundidade e aceita os mesmos filtros. " +
+                    "itemsPerPage deve estar entre 1 e 1000.")
+    @GetMapping(params = "after")
+    public ResponseEntity<SliceResult<ItemDetailDto>> getAllItemAfter(
+            @RequestParam(required = false) UUID itemId,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) ItemType type,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam String after,
+            @RequestParam(required = false, defaultValue = "10") int itemsPerPage,
+            @RequestParam(required = false, defaultValue = "ASC") String sort,
+            @RequestParam(required = false, defaultValue = "id") String sortName) {
+        var itemSearch = ItemSearch.builder()
+                .id(itemId)
+                .query(query)
+                .type(type)
+                .status(status)
+                .build();
+        var sorting = createSort(sort, sortName);
+        var position = decode(after, Item.class, sorting);
+        var result = itemService.getAllItem(itemSearch, position, validItemsPerPage(itemsPerPage), sorting);
+        return ResponseEntity.ok(modelMapperService.toSlice(ItemDetailDto.class, result));
+    }
+
+    @Operation(summary = "Operação para exportar todos os items(Serviço/Produto) filtrados.",
+            description = "Retorna os items em NDJSON (uma linha JSON por item) ou CSV, escritos à medida que são " +
+                    "lidos do banco por cursor, sem carregar o resultado inteiro em memória.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) UUID itemId,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) ItemType type,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam(required = false, defaultValue = "NDJSON") ExportFormat format) {
+        var itemSearch = ItemSearch.builder()
+                .id(itemId)
+                .query(query)
+                .type(type)
+                .status(status)
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=items." + format.getExtension())
+                .body(outputStream -> exportService.exportItems(itemSearch, format, outputStream));
+    }
 }
@@ -2,24 +2,44 @@ package com.senior.assessment.rest;
 
 import com.senior.assessment.config.mapper.ModelMapperService;
 import com.senior.assessment.domain.dto.PageResult;
+import com.senior.assessment.domain.dto.SliceResult;
+import com.senior.assessment.domain.dto.order.OrderStatusBatchChangeDto;
+import com.senior.assessment.domain.dto.order.OrderStatusBatchResultDto;
 import com.senior.assessment.domain.dto.order.OrderStatusChangeDto;
 import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
 import com.senior.assessment.domain.dto.order.detailslist.OrderDetailDto;
+import com.senior.assessment.domain.dto.order.intake.OrderIntakeDto;
+import com.senior.assessment.domain.dto.order.patch.OrderItemsPatchDto;
 import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.entity.OrderItem;
+import com.senior.assessment.domain.enums.ExportFormat;
 import com.senior.assessment.domain.enums.ItemType;
 import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.idempotency.IdempotencyService;
+import com.senior.assessment.domain.intake.OrderIntake;
 import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import com.senior.assessment.domain.service.ExportService;
 import com.senior.assessment.domain.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.net.URI;
 import java.util.UUID;
 
+import static com.senior.assessment.domain.idempotency.IdempotencyService.IDEMPOTENCY_KEY_HEADER;
+import static com.senior.assessment.utilities.KeysetCursor.decode;
 import static com.senior.assessment.utilities.Utils.createPagination;
+import static com.senior.assessment.utilities.Utils.createScrollPosition;
+import static com.senior.assessment.utilities.Utils.createSort;
+import static com.senior.assessment.utilities.Utils.validItemsPerPage;
 
 @RestController
 @RequiredArgsConstructor
@@ -29,16 +49,47 @@ import static com.senior.assessment.utilities.Utils.createPagination;
 )
 public class OrderController {
     private final OrderService orderService;
+    private final ExportService exportService;
     private final ModelMapperService modelMapperService;
+    private final IdempotencyService idempotencyService;
+    private final OrderIntake orderIntake;
 
     @Operation(summary = "Operação para criar um order(Pedido).",
             description = "Olhe o schema OrderCreateUpdateDto para verificar as regras de cadastro. No cadastro de " +
-                    "produtos são adicionados os itens, então itens pedidos são criados a partir de  pedidos"
+                    "produtos são adicionados os itens, então itens pedidos são criados a partir de  pedidos. Com o header " +
+                    "Idempotency-Key as retentativas com a mesma chave devolvem o pedido já criado."
     )
     @PostMapping
-    public ResponseEntity<OrderDetailDto> create(@Valid @RequestBody OrderCreateUpdateDto orderCreate) {
-        var order = orderService.createOrder(modelMapperService.toObject(Order.class, orderCreate));
-        return ResponseEntity.ok(modelMapperService.toObject(OrderDetailDto.class, order));
+    public ResponseEntity<OrderDetailDto> create(@Valid @RequestBody OrderCreateUpdateDto orderCreate,
+                                          @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                          String idempotencyKey) {
+        return idempotencyService.execute("POST /orders", idempotencyKey, orderCreate, OrderDetailDto.class, () -> {
+            var order = orderService.createOrder(modelMapperService.toObject(Order.class, orderCreate));
+            return ResponseEntity.ok(modelMapperService.toObject(OrderDetailDto.class, order));
+        });
+    }
+
+    @Operation(summary = "Operação para enviar um order(Pedido) para criação assíncrona.",
+            description = "Valida o OrderCreateUpdateDto, enfileira o pedido e retorna 202 com um handle. Os pedidos " +
+                    "enfileirados são criados em grupo numa única transação; o resultado (CREATED com orderId ou " +
+                    "REJECTED com o erro) é consultado em /orders/intake/{handle}. Com a fila cheia retorna 503."
+    )
+    @PostMapping("/intake")
+    public ResponseEntity<OrderIntakeDto> intake(@Valid @RequestBody OrderCreateUpdateDto orderCreate) {
+        var orderIntakeDto = orderIntake.submit(orderCreate);
+        return ResponseEntity.accepted()
+                .location(URI.create("/orders/intake/" + orderIntakeDto.getHandle()))
+                .body(orderIntakeDto);
+    }
+
+    @Operation(summary = "Operação para consultar o resultado de um order(Pedido) enviado para criação assíncrona.",
+            description = "Retorna PENDING enquanto o pedido aguarda na fila, CREATED com o orderId ou REJECTED com " +
+                    "o status e a mensagem de erro. O handle é gravado no banco, então qualquer instância responde por " +
+                    "ele; os resultados ficam disponíveis por tempo limitado."
+    )
+    @GetMapping("/intake/{handle}")
+    public ResponseEntity<OrderIntakeDto> getIntake(@PathVariable(name = "handle") UUID handle) {
+        return ResponseEntity.of(orderIntake.getResult(handle));
     }
 
     @Operation(summary = "Operação para atualizar um order(Pedido) por ID.",
@@ -55,6 +106,23 @@ public class OrderController {
         );
     }
 
+    @Operation(summary = "Operação para alterar linhas de um order(Pedido) por ID.",
+            description = "Aplica apenas as operações informadas: add (novas linhas), change (nova quantidade por id da " +
+                    "linha) e remove (ids das linhas). As demais linhas não são regravadas e os totais são ajustados " +
+                    "pela diferença. Só é possível alterar um pedido em aberto(OPENED)."
+    )
+    @PatchMapping("/{orderId}/items")
+    public ResponseEntity<OrderDetailDto> patchOrderItems(@PathVariable(name = "orderId") UUID orderId,
+                                                          @Valid @RequestBody OrderItemsPatchDto orderItemsPatch) {
+        var order = orderService.patchOrderItems(
+                orderId,
+                modelMapperService.toList(OrderItem.class, orderItemsPatch.getAdd()),
+                orderItemsPatch.getChange(),
+                orderItemsPatch.getRemove()
+        );
+        return ResponseEntity.ok(modelMapperService.toObject(OrderDetailDto.class, order));
+    }
+
     @Operation(summary = "Operação para retornar um order(Pedido) por ID.")
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderDetailDto> getById(@PathVariable(name = "orderId") UUID orderId) {
@@ -74,13 +142,16 @@ public class OrderController {
     }
 
     @Operation(summary = "Operação para retornar uma página de orders(Pedidos).",
-            description = "Neste endpoint é possível aplicar os filtros e mudar paginação.")
+            description = "Neste endpoint é possível aplicar os filtros e mudar paginação. Também é possível " +
+                    "filtrar por minTotal/maxTotal e ordenar por total (sortName=total).")
     @GetMapping
     public ResponseEntity<PageResult<OrderDetailDto>> getAllOrder(
             @RequestParam(required = false) UUID orderId,
             @RequestParam(required = false) String query,
             @RequestParam(required = false) ItemType itemType,
             @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "10") int itemsPerPage,
             @RequestParam(required = false, defaultValue = "ASC") String sort,
@@ -90,12 +161,99 @@ public class OrderController {
                 .query(query)
                 .status(status)
                 .itemType(itemType)
+                .minTotal(minTotal)
+                .maxTotal(maxTotal)
                 .build();
         var pagination = createPagination(page, itemsPerPage, sort, sortName);
         var result = orderService.getAllOrder(orderSearch, pagination);
         return ResponseEntity.ok(modelMapperService.toPage(OrderDetailDto.class, result));
     }
 
+    @Operation(summary = "Operação para retornar uma página de orders(Pedidos) sem contagem.",
+            description = "Com count=false não é executada a consulta de totalPages/totalResults, retornando apenas " +
+                    "hasNext. Indicado para listagens com scroll infinito. itemsPerPage deve estar entre 1 e " +
+                    "1000.")
+    @GetMapping(params = {"count=false", "!after"})
+    public ResponseEntity<SliceResult<OrderDetailDto>> getAllOrderSlice(
+            @RequestParam(required = false) UUID orderId,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) ItemType itemType,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int itemsPerPage,
+            @RequestParam(required = false, defaultValue = "ASC") String sort,
+            @RequestParam(required = false, defaultValue = "id") String sortName) {
+        var orderSearch = OrderSearch.builder()
+                .id(orderId)
+                .query(query)
+                .status(status)
+                .itemType(itemType)
+                .minTotal(minTotal)
+                .maxTotal(maxTotal)
+                .build();
+        var position = createScrollPosition(page, itemsPerPage);
+        var result = orderService.getAllOrder(orderSearch, position, itemsPerPage, createSort(sort, sortName));
+        return ResponseEntity.ok(modelMapperService.toSlice(OrderDetailDto.class, result));
+    }
+
+    @Operation(summary = "Operação para retornar uma página de orders(Pedidos) por cursor.",
+            description = "Paginação por keyset: informe after vazio na primeira chamada e depois o nextCursor " +
+                    "retornado. O custo de cada página independe da profundidade e aceita os mesmos filtros. " +
+                    "itemsPerPage deve estar entre 1 e 1000.")
+    @GetMapping(params = "after")
+    public ResponseEntity<SliceResult<OrderDetailDto>> getAllOrderAfter(
+            @RequestParam(required = false) UUID orderId,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) ItemType itemType,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
+            @RequestParam String after,
+            @RequestParam(required = false, defaultValue = "10") int itemsPerPage,
+            @RequestParam(required = false, defaultValue = "ASC") String sort,
+            @RequestParam(required = false, defaultValue = "id") String sortName) {
+        var orderSearch = OrderSearch.builder()
+                .id(orderId)
+                .query(query)
+                .status(status)
+                .itemType(itemType)
+                .minTotal(minTotal)
+                .maxTotal(maxTotal)
+                .build();
+        var sorting = createSort(sort, sortName);
+        var position = decode(after, Order.class, sorting);
+        var result = orderService.getAllOrder(orderSearch, position, validItemsPerPage(itemsPerPage), sorting);
+        return ResponseEntity.ok(modelMapperService.toSlice(OrderDetailDto.class, result));
+    }
+
+    @Operation(summary = "Operação para exportar todos os orders(Pedidos) filtrados.",
+            description = "Retorna o cabeçalho dos pedidos com os totais em NDJSON (uma linha JSON por pedido) ou CSV, " +
+                    "escritos à medida que são lidos do banco por cursor, sem carregar o resultado inteiro em memória.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) UUID orderId,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) ItemType itemType,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
+            @RequestParam(required = false, defaultValue = "NDJSON") ExportFormat format) {
+        var orderSearch = OrderSearch.builder()
+                .id(orderId)
+                .query(query)
+                .status(status)
+                .itemType(itemType)
+                .minTotal(minTotal)
+                .maxTotal(maxTotal)
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders." + format.getExtension())
+                .body(outputStream -> exportService.exportOrders(orderSearch, format, outputStream));
+    }
+
     @Operation(summary = "Operação para fechar(CLOSED) um order(pedido) por ID.",
             description = "Neste endpoint é possível fechar um pedido caso esteja em aberto.")
     @PatchMapping("/{orderId}")
@@ -104,4 +262,36 @@ public class OrderController {
         orderService.updateStatus(orderId, orderStatusDto.getStatus());
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Operação para fechar(CLOSED) vários orders(pedidos) por ID.",
+            description = "Fecha em uma única operação os pedidos em aberto da lista (até 1000 ids). Retorna os ids alterados " +
+                    "(transitioned), os que já não estavam em aberto (skipped) e os inexistentes (missing).")
+    @PatchMapping("/status")
+    public ResponseEntity<OrderStatusBatchResultDto> updateStatusByIds(
+            @Valid @RequestBody OrderStatusBatchChangeDto orderStatusBatchDto) {
+        return ResponseEntity.ok(
+                orderService.updateStatus(orderStatusBatchDto.getIds(), orderStatusBatchDto.getStatus())
+        );
+    }
+
+    @Operation(summary = "Operação para fechar(CLOSED) os orders(pedidos) em aberto filtrados.",
+            description = "Aceita os mesmos filtros da listagem e fecha em uma única operação todos os pedidos em " +
+                    "aberto encontrados, retornando os ids alterados (transitioned). Exige ao menos um filtro.")
+    @PatchMapping("/status/search")
+    public ResponseEntity<OrderStatusBatchResultDto> updateStatusBySearch(
+            @RequestParam(required = false) UUID orderId,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) ItemType itemType,
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
+            @Valid @RequestBody OrderStatusChangeDto orderStatusDto) {
+        var orderSearch = OrderSearch.builder()
+                .id(orderId)
+                .query(query)
+                .itemType(itemType)
+                .minTotal(minTotal)
+                .maxTotal(maxTotal)
+                .build();
+        return ResponseEntity.ok(orderService.updateStatus(orderSearch, orderStatusDto.getStatus()));
+    }
 }
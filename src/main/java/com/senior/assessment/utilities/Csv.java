@@ -0,0 +1,95 @@
+package com.senior.assessment.utilities;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// CSV (RFC 4180): campos com vírgula, aspas ou quebra de linha vão entre aspas, e um campo entre aspas pode
+// continuar nas linhas seguintes (a quebra é lida como \n)
+public class Csv {
+    // Registro lógico e a linha física em que começa
+    public record Record(long line, String text) {
+    }
+
+    private Csv() {
+    }
+
+    public static String line(List<?> values) {
+        return values.stream()
+                .map(value -> escape(Objects.toString(value, "")))
+                .collect(Collectors.joining(","));
+    }
+
+    public static String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r"))
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        return value;
+    }
+
+    // Agrupa as linhas físicas em registros: enquanto houver aspas abertas a próxima linha pertence ao mesmo registro
+    public static Stream<Record> records(BufferedReader reader, long firstLine) {
+        var lines = reader.lines().iterator();
+        var records = new Iterator<Record>() {
+            private long lineNumber = firstLine - 1;
+
+            @Override
+            public boolean hasNext() {
+                return lines.hasNext();
+            }
+
+            @Override
+            public Record next() {
+                var text = new StringBuilder(lines.next());
+                var start = ++lineNumber;
+                while (hasOpenQuote(text) && lines.hasNext()) {
+                    text.append('\n').append(lines.next());
+                    lineNumber++;
+                }
+                return new Record(start, text.toString());
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false);
+    }
+
+    public static List<String> parseLine(String line) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // private methods
+
+    // Aspas escapadas ("") contam em pares, então uma quantidade ímpar indica campo ainda aberto
+    private static boolean hasOpenQuote(CharSequence text) {
+        return text.chars().filter(c -> c == '"').count() % 2 != 0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.senior.assessment.utilities;
+
+import com.senior.assessment.infrastructure.exception.CustomException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Codifica/decodifica a posição de um keyset (sortKey, id) em um token opaco usado no parâmetro {@code after}.
+ */
+public class KeysetCursor {
+    private static final String ID_PROPERTY = "id";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition) || keysetPosition.isInitial())
+            return null;
+        var token = keysetPosition.getKeys().entrySet().stream()
+                .map(entry -> encodeValue(entry.getKey()) + "=" + encodeValue(String.valueOf(entry.getValue())))
+                .collect(Collectors.joining("&"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Class<?> entityClass, Sort sort) {
+        if (!Utils.existsValue(cursor))
+            return ScrollPosition.keyset();
+        try {
+            var token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var keys = new LinkedHashMap<String, Object>();
+            for (var pair : token.split("&")) {
+                var keyValue = pair.split("=", 2);
+                var property = decodeValue(keyValue[0]);
+                keys.put(property, convert(entityClass, property, decodeValue(keyValue[1])));
+            }
+            assertKeysMatchSort(keys.keySet(), sort);
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException exception) {
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("Invalid cursor: %s.", cursor))
+                    .build();
+        }
+    }
+
+    // private methods
+
+    private static void assertKeysMatchSort(Set<String> keys, Sort sort) {
+        var sortProperties = new HashSet<String>();
+        sort.forEach(order -> sortProperties.add(order.getProperty()));
+        sortProperties.add(ID_PROPERTY);
+        if (!sortProperties.equals(keys))
+            throw new IllegalArgumentException("Cursor keys do not match sort.");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Class<?> entityClass, String property, String value) {
+        var descriptor = Objects.requireNonNull(BeanUtils.getPropertyDescriptor(entityClass, property));
+        var type = descriptor.getPropertyType();
+        if (type == UUID.class)
+            return UUID.fromString(value);
+        if (type.isEnum())
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        if (type == BigDecimal.class)
+            return new BigDecimal(value);
+        if (type == LocalDateTime.class)
+            return LocalDateTime.parse(value);
+        if (type == double.class || type == Double.class)
+            return Double.valueOf(value);
+        if (type == int.class || type == Integer.class)
+            return Integer.valueOf(value);
+        if (type == long.class || type == Long.class)
+            return Long.valueOf(value);
+        if (type == String.class)
+            return value;
+        throw new IllegalArgumentException(String.format("Unsupported cursor property %s.", property));
+    }
+
+    private static String encodeValue(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decodeValue(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -3,15 +3,20 @@ package com.senior.assessment.utilities;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.core.types.dsl.StringTemplate;
+import com.senior.assessment.infrastructure.exception.CustomException;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 
 import java.text.Normalizer;
 import java.util.Optional;
 
 public class Utils {
+    public static final int MAX_ITEMS_PER_PAGE = 1_000;
+
     private Utils() {
     }
 
@@ -26,11 +31,35 @@ public class Utils {
     }
 
     public static Pageable createPagination(int page, int itemsPerPage, String sort, String sortName) {
-        return PageRequest.of(page, itemsPerPage, Sort.by(Sort.Direction.fromString(sort), sortName));
+        return PageRequest.of(page, itemsPerPage, createSort(sort, sortName));
+    }
+
+    // Listagens sem contagem e por cursor: itemsPerPage vai direto para o LIMIT e o offset é page * itemsPerPage
+    public static ScrollPosition createScrollPosition(int page, int itemsPerPage) {
+        if (page < 0)
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message("Page must be greater than or equal to 0.")
+                    .build();
+        return ScrollPosition.offset((long) page * validItemsPerPage(itemsPerPage));
+    }
+
+    public static int validItemsPerPage(int itemsPerPage) {
+        if (itemsPerPage < 1 || itemsPerPage > MAX_ITEMS_PER_PAGE)
+            throw CustomException.builder()
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .message(String.format("Items per page must be between 1 and %d.", MAX_ITEMS_PER_PAGE))
+                    .build();
+        return itemsPerPage;
+    }
+
+    public static Sort createSort(String sort, String sortName) {
+        return Sort.by(Sort.Direction.fromString(sort), sortName);
     }
 
+    // Usa o wrapper IMMUTABLE dbo.f_unaccent para casar com o índice de trigramas de item.name
     public static StringTemplate unaccentedExpression(StringPath stringPath) {
-        return Expressions.stringTemplate("FUNCTION('unaccent', {0})", stringPath);
+        return Expressions.stringTemplate("FUNCTION('dbo.f_unaccent', {0})", stringPath);
     }
     public static String unaccented(String src) {
         return Normalizer
@@ -0,0 +1,49 @@
+-- Agregados de vendas por dia (data de criação do pedido) e status, nos níveis pedido, tipo de item e item.
+-- São views materializadas atualizadas com REFRESH ... CONCURRENTLY (exige o índice único de cada uma) para
+-- que as consultas de analytics não varram dbo.order_items. Receita por linha aplica o desconto só em produtos.
+CREATE MATERIALIZED VIEW IF NOT EXISTS dbo.sales_daily AS
+SELECT o.created_at::DATE AS day,
+       o.status,
+       COUNT(*)           AS orders,
+       SUM(l.units)       AS units,
+       SUM(o.total)       AS revenue
+FROM dbo.order o
+         JOIN (SELECT order_id, SUM(amount) AS units
+               FROM dbo.order_items
+               GROUP BY order_id) l ON l.order_id = o.id
+GROUP BY o.created_at::DATE, o.status;
+
+CREATE UNIQUE INDEX IF NOT EXISTS sales_daily_day_status_idx ON dbo.sales_daily (day, status);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS dbo.sales_daily_item_type AS
+SELECT o.created_at::DATE                                                                   AS day,
+       o.status,
+       i.type                                                                               AS item_type,
+       COUNT(DISTINCT o.id)                                                                 AS orders,
+       SUM(oi.amount)                                                                       AS units,
+       ROUND(SUM(oi.item_price * oi.amount
+                     * CASE WHEN i.type = 'PRODUCT' THEN 1 - o.discount ELSE 1 END), 2)     AS revenue
+FROM dbo.order o
+         JOIN dbo.order_items oi ON oi.order_id = o.id
+         JOIN dbo.item i ON i.id = oi.item_id
+GROUP BY o.created_at::DATE, o.status, i.type;
+
+CREATE UNIQUE INDEX IF NOT EXISTS sales_daily_item_type_day_status_type_idx
+    ON dbo.sales_daily_item_type (day, status, item_type);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS dbo.sales_daily_item AS
+SELECT o.created_at::DATE                                                                   AS day,
+       o.status,
+       i.id                                                                                 AS item_id,
+       i.type                                                                               AS item_type,
+       COUNT(DISTINCT o.id)                                                                 AS orders,
+       SUM(oi.amount)                                                                       AS units,
+       ROUND(SUM(oi.item_price * oi.amount
+                     * CASE WHEN i.type = 'PRODUCT' THEN 1 - o.discount ELSE 1 END), 2)     AS revenue
+FROM dbo.order o
+         JOIN dbo.order_items oi ON oi.order_id = o.id
+         JOIN dbo.item i ON i.id = oi.item_id
+GROUP BY o.created_at::DATE, o.status, i.id, i.type;
+
+CREATE UNIQUE INDEX IF NOT EXISTS sales_daily_item_day_status_item_idx
+    ON dbo.sales_daily_item (day, status, item_id);
@@ -0,0 +1,17 @@
+-- Quantidade de linhas de pedido que referenciam o item, mantida pelo OrderService na mesma transação das linhas:
+-- a exclusão e a verificação de item vinculado a pedido passam a ser leituras pela PK
+ALTER TABLE dbo.item
+    ADD COLUMN IF NOT EXISTS order_line_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE dbo.item i
+SET order_line_count = t.order_line_count
+FROM (SELECT oi.item_id, COUNT(*) AS order_line_count
+      FROM dbo.order_items oi
+      GROUP BY oi.item_id) t
+WHERE i.id = t.item_id;
+
+ALTER TABLE dbo.item
+    ADD CONSTRAINT item_order_line_count_check CHECK (order_line_count >= 0);
+
+-- Ordenação do catálogo por popularidade (id como desempate do keyset)
+CREATE INDEX IF NOT EXISTS item_order_line_count_id_idx ON dbo.item (order_line_count, id);
@@ -0,0 +1,4 @@
+-- Reserva (lease) do lote pelo relay: o lote é reivindicado numa transação curta e entregue fora dela.
+-- Se a instância cair antes de excluir, os eventos voltam a ser elegíveis quando a reserva expira.
+ALTER TABLE dbo.order_outbox
+    ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
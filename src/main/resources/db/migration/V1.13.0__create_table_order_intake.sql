@@ -0,0 +1,19 @@
+-- Handles do recebimento assíncrono de pedidos: gravados como PENDING com o pedido recebido e atualizados com o
+-- resultado na mesma transação que cria o grupo, para que qualquer instância responda pelo handle e um pedido
+-- aceito por uma instância que caiu seja retomado por outra.
+CREATE TABLE IF NOT EXISTS dbo.order_intake
+(
+    handle       UUID        NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    request      JSONB       NOT NULL,
+    order_id     UUID,
+    error_status INTEGER,
+    message      TEXT,
+    created_at   TIMESTAMP   NOT NULL DEFAULT NOW(),
+    updated_at   TIMESTAMP   NOT NULL DEFAULT NOW(),
+    expires_at   TIMESTAMP,
+    CONSTRAINT order_intake_pkey PRIMARY KEY (handle)
+);
+
+CREATE INDEX IF NOT EXISTS order_intake_pending_idx ON dbo.order_intake (updated_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS order_intake_expires_at_idx ON dbo.order_intake (expires_at);
@@ -0,0 +1,22 @@
+ALTER TABLE dbo.order
+    ADD COLUMN IF NOT EXISTS total         DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_product DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_service DECIMAL(19, 2) NOT NULL DEFAULT 0;
+
+-- Preenche os totais dos pedidos existentes com a mesma regra do OrderService (desconto só em produtos)
+UPDATE dbo.order o
+SET total_product = t.total_product,
+    total_service = t.total_service,
+    total         = t.total_product + t.total_service
+FROM (SELECT oi.order_id,
+             ROUND(COALESCE(SUM(oi.item_price * oi.amount) FILTER (WHERE i.type = 'PRODUCT'), 0)
+                       * (1 - MAX(ord.discount)), 2)                                         AS total_product,
+             ROUND(COALESCE(SUM(oi.item_price * oi.amount) FILTER (WHERE i.type = 'SERVICE'), 0), 2) AS total_service
+      FROM dbo.order_items oi
+               JOIN dbo.item i ON i.id = oi.item_id
+               JOIN dbo.order ord ON ord.id = oi.order_id
+      GROUP BY oi.order_id) t
+WHERE o.id = t.order_id;
+
+-- Ordenação por total (com id como desempate do keyset) e filtros de total mínimo/máximo
+CREATE INDEX IF NOT EXISTS order_total_id_idx ON dbo.order (total, id);
@@ -0,0 +1,16 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() é STABLE e não pode ser usada em índice; o wrapper fixa o dicionário e pode ser IMMUTABLE
+CREATE OR REPLACE FUNCTION dbo.f_unaccent(TEXT) RETURNS TEXT
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+    STRICT
+AS
+$$
+SELECT public.unaccent('public.unaccent'::REGDICTIONARY, $1)
+$$;
+
+-- Busca por nome sem acento e sem diferenciar maiúsculas (lower(f_unaccent(name)) LIKE '%q%') usando trigramas
+CREATE INDEX IF NOT EXISTS item_name_unaccent_trgm_idx
+    ON dbo.item USING GIN (LOWER(dbo.f_unaccent(name)) gin_trgm_ops);
@@ -0,0 +1,9 @@
+-- Índices das FKs de order_items: carregamento das linhas do pedido (ordenadas por created_at),
+-- subconsultas EXISTS de orderItems.any() e verificação de item vinculado a pedido antes de excluir
+CREATE INDEX IF NOT EXISTS order_items_order_id_created_at_idx ON dbo.order_items (order_id, created_at);
+CREATE INDEX IF NOT EXISTS order_items_item_id_idx ON dbo.order_items (item_id);
+
+-- Filtros por status/tipo com a ordenação padrão por id (e id como desempate do keyset)
+CREATE INDEX IF NOT EXISTS item_status_id_idx ON dbo.item (status, id);
+CREATE INDEX IF NOT EXISTS item_type_id_idx ON dbo.item (type, id);
+CREATE INDEX IF NOT EXISTS order_status_id_idx ON dbo.order (status, id);
@@ -0,0 +1,13 @@
+-- Soma dos produtos antes do desconto: permite ajustar total_product por delta nas operações de linha
+-- sem reler todas as linhas do pedido nem acumular arredondamento do desconto
+ALTER TABLE dbo.order
+    ADD COLUMN IF NOT EXISTS subtotal_product DECIMAL(19, 2) NOT NULL DEFAULT 0;
+
+UPDATE dbo.order o
+SET subtotal_product = t.subtotal_product
+FROM (SELECT oi.order_id,
+             COALESCE(SUM(oi.item_price * oi.amount) FILTER (WHERE i.type = 'PRODUCT'), 0) AS subtotal_product
+      FROM dbo.order_items oi
+               JOIN dbo.item i ON i.id = oi.item_id
+      GROUP BY oi.order_id) t
+WHERE o.id = t.order_id;
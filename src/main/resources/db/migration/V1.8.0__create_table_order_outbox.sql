@@ -0,0 +1,10 @@
+-- Eventos do ciclo de vida dos pedidos gravados na mesma transação da alteração (transactional outbox).
+-- Sem FK para dbo.order: o evento precisa sobreviver à exclusão do pedido até ser entregue.
+CREATE TABLE IF NOT EXISTS dbo.order_outbox
+(
+    id         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    order_id   UUID        NOT NULL,
+    type       VARCHAR(20) NOT NULL,
+    payload    JSONB       NOT NULL,
+    created_at TIMESTAMP   NOT NULL DEFAULT NOW()
+);
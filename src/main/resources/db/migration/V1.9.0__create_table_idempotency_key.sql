@@ -0,0 +1,15 @@
+-- Respostas de POST gravadas por Idempotency-Key para que retentativas do cliente devolvam o mesmo resultado.
+-- A linha é inserida na mesma transação da operação: se ela falhar a chave é liberada para nova tentativa.
+CREATE TABLE IF NOT EXISTS dbo.idempotency_key
+(
+    scope        VARCHAR(50)  NOT NULL,
+    key          VARCHAR(255) NOT NULL,
+    request_hash CHAR(64)     NOT NULL,
+    status_code  INTEGER,
+    response     JSONB,
+    created_at   TIMESTAMP    NOT NULL DEFAULT NOW(),
+    expires_at   TIMESTAMP    NOT NULL,
+    CONSTRAINT idempotency_key_pkey PRIMARY KEY (scope, key)
+);
+
+CREATE INDEX IF NOT EXISTS idempotency_key_expires_at_idx ON dbo.idempotency_key (expires_at);
@@ -0,0 +1,108 @@
+package com.senior.assessment.benchmark;
+
+import com.senior.assessment.config.mapper.DtoMapper;
+import com.senior.assessment.config.mapper.ModelMapperService;
+import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
+import com.senior.assessment.domain.dto.order.createupdate.OrderItemDto;
+import com.senior.assessment.domain.dto.order.detailslist.OrderDetailDto;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.entity.OrderItem;
+import com.senior.assessment.domain.enums.ItemType;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o ModelMapper (reflexão, STRICT) com o DtoMapper escrito à mão em pedidos de 100 itens.
+ * Executar o main desta classe com o classpath de teste após {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelMapperBenchmark {
+    private static final int ORDER_ITEMS = 100;
+
+    private ModelMapper modelMapper;
+    private ModelMapperService modelMapperService;
+    private Order order;
+    private OrderCreateUpdateDto orderCreateUpdateDto;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        modelMapperService = new ModelMapperService(modelMapper, new DtoMapper());
+
+        order = Order.builder()
+                .id(UUID.randomUUID())
+                .discount(0.1)
+                .build();
+        var orderItemsDto = new HashSet<OrderItemDto>();
+        for (int index = 0; index < ORDER_ITEMS; index++) {
+            var item = Item.builder()
+                    .id(UUID.randomUUID())
+                    .name("Item " + index)
+                    .type(index % 2 == 0 ? ItemType.PRODUCT : ItemType.SERVICE)
+                    .price(BigDecimal.valueOf(10.50))
+                    .build();
+            var orderItem = OrderItem.builder()
+                    .id(UUID.randomUUID())
+                    .item(item)
+                    .order(order)
+                    .amount(index + 1)
+                    .itemPrice(item.getPrice())
+                    .build();
+            orderItem.setCreatedDate(LocalDateTime.now());
+            orderItem.setLastModifiedDate(LocalDateTime.now());
+            order.getOrderItems().add(orderItem);
+            orderItemsDto.add(OrderItemDto.builder()
+                    .item(new OrderItemDto.ItemDto(item.getId()))
+                    .amount(index + 1)
+                    .build());
+        }
+        orderCreateUpdateDto = OrderCreateUpdateDto.builder()
+                .discount(0.1)
+                .orderItems(orderItemsDto)
+                .build();
+    }
+
+    @Benchmark
+    public OrderDetailDto modelMapperOrderToOrderDetailDto() {
+        return modelMapper.map(order, OrderDetailDto.class);
+    }
+
+    @Benchmark
+    public OrderDetailDto dtoMapperOrderToOrderDetailDto() {
+        return modelMapperService.toObject(OrderDetailDto.class, order);
+    }
+
+    @Benchmark
+    public Order modelMapperOrderCreateUpdateDtoToOrder() {
+        return modelMapper.map(orderCreateUpdateDto, Order.class);
+    }
+
+    @Benchmark
+    public Order dtoMapperOrderCreateUpdateDtoToOrder() {
+        return modelMapperService.toObject(Order.class, orderCreateUpdateDto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ModelMapperBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
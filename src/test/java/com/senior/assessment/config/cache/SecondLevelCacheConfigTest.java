@@ -0,0 +1,90 @@
+package com.senior.assessment.config.cache;
+
+import com.senior.assessment.domain.config.AssessmentConfigTest;
+import com.senior.assessment.domain.config.PostgreSQLContainerConfig;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.repository.ItemRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Sobe o contexto JPA com o cache de segundo nível como no application.yml principal (missing_cache_strategy: fail),
+// validando as regiões criadas pelo SecondLevelCacheConfig e a leitura de Item a partir do cache
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Testcontainers
+@Import({AssessmentConfigTest.class, SecondLevelCacheConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheConfigTest extends PostgreSQLContainerConfig {
+    private Item item;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @AfterEach
+    public void tearDown() {
+        if (item != null)
+            itemRepository.deleteById(item.getId());
+    }
+
+    @Test
+    void testGivenSecondLevelCacheEnabled_whenStartContext_thenCreateItemRegion() {
+        // Given / Arrange
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When / Act
+        var regionNames = statistics.getSecondLevelCacheRegionNames();
+
+        // Then / Assert
+        assertNotNull(hibernateCacheManager.getCache(SecondLevelCacheConfig.ITEM_REGION));
+        assertThat(regionNames).containsExactly(SecondLevelCacheConfig.ITEM_REGION);
+    }
+
+    @Test
+    void testGivenCommittedItem_whenFindTwice_thenSecondReadIsSecondLevelCacheHit() {
+        // Given / Arrange
+        item = itemRepository.save(Item.builder()
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(50.00))
+                .build());
+        entityManagerFactory.getCache().evict(Item.class, item.getId());
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When / Act
+        itemRepository.findById(item.getId());
+        itemRepository.findById(item.getId());
+
+        // Then / Assert
+        var regionStatistics = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.ITEM_REGION);
+        assertEquals(1, regionStatistics.getMissCount());
+        assertEquals(1, regionStatistics.getPutCount());
+        assertEquals(1, regionStatistics.getHitCount());
+    }
+}
@@ -0,0 +1,49 @@
+package com.senior.assessment.config.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testGivenNothing_whenRandomUuid_thenReturnVersion7AndIetfVariant() {
+        // Given / Arrange
+
+        // When / Act
+        var uuid = UuidV7Generator.randomUuid();
+
+        // Then / Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testGivenCurrentTime_whenRandomUuid_thenReturnTimestampInMostSignificantBits() {
+        // Given / Arrange
+        var before = System.currentTimeMillis();
+
+        // When / Act
+        var uuid = UuidV7Generator.randomUuid();
+
+        // Then / Assert
+        var timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis());
+    }
+
+    @Test
+    void testGivenManyCalls_whenRandomUuid_thenReturnUniqueIds() {
+        // Given / Arrange
+        var ids = new HashSet<>();
+
+        // When / Act
+        IntStream.range(0, 100_000).forEach(i -> ids.add(UuidV7Generator.randomUuid()));
+
+        // Then / Assert
+        assertEquals(100_000, ids.size());
+    }
+}
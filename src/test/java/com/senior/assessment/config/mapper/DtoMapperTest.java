@@ -0,0 +1,156 @@
+package com.senior.assessment.config.mapper;
+
+import com.senior.assessment.domain.dto.item.ItemCreateUpdateDto;
+import com.senior.assessment.domain.dto.item.ItemDetailDto;
+import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
+import com.senior.assessment.domain.dto.order.createupdate.OrderItemDto;
+import com.senior.assessment.domain.dto.order.detailslist.OrderDetailDto;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.entity.OrderItem;
+import com.senior.assessment.domain.enums.ItemStatus;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class DtoMapperTest {
+    private ModelMapper modelMapper;
+    private ModelMapperService modelMapperService;
+    private Item item;
+
+    @BeforeEach
+    public void setup() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        modelMapperService = new ModelMapperService(modelMapper, new DtoMapper());
+        item = Item.builder()
+                .id(UUID.randomUUID())
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .status(ItemStatus.DISABLED)
+                .price(BigDecimal.valueOf(10.00))
+                .build();
+        item.setCreatedDate(LocalDateTime.now());
+        item.setLastModifiedDate(LocalDateTime.now());
+    }
+
+    @Test
+    void testGivenItem_whenToObjectItemDetailDto_thenMatchModelMapper() {
+        // Given / Arrange
+        var expected = modelMapper.map(item, ItemDetailDto.class);
+
+        // When / Act
+        var result = modelMapperService.toObject(ItemDetailDto.class, item);
+
+        // Then / Assert
+        assertThat(result).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void testGivenItemCreateUpdateDto_whenToObjectItem_thenMatchModelMapper() {
+        // Given / Arrange
+        var itemCreateUpdateDto = ItemCreateUpdateDto.builder()
+                .name(" Ebook ")
+                .type(ItemType.SERVICE)
+                .status(ItemStatus.ACTIVE)
+                .price(BigDecimal.valueOf(25.50))
+                .build();
+        var expected = modelMapper.map(itemCreateUpdateDto, Item.class);
+
+        // When / Act
+        var result = modelMapperService.toObject(Item.class, itemCreateUpdateDto);
+
+        // Then / Assert
+        assertThat(result).usingRecursiveComparison().isEqualTo(expected);
+        assertEquals("Ebook", result.getName());
+    }
+
+    @Test
+    void testGivenOrder_whenToObjectOrderDetailDto_thenMatchModelMapper() {
+        // Given / Arrange
+        var order = Order.builder()
+                .id(UUID.randomUUID())
+                .discount(0.5)
+                .status(OrderStatus.CLOSED)
+                .total(BigDecimal.valueOf(25.00))
+                .totalProduct(BigDecimal.valueOf(5.00))
+                .totalService(BigDecimal.valueOf(20.00))
+                .build();
+        var orderItem = OrderItem.builder()
+                .id(UUID.randomUUID())
+                .item(item)
+                .order(order)
+                .amount(1)
+                .itemPrice(item.getPrice())
+                .build();
+        orderItem.setCreatedDate(LocalDateTime.now());
+        orderItem.setLastModifiedDate(LocalDateTime.now());
+        order.getOrderItems().add(orderItem);
+        var expected = modelMapper.map(order, OrderDetailDto.class);
+
+        // When / Act
+        var result = modelMapperService.toObject(OrderDetailDto.class, order);
+
+        // Then / Assert
+        assertThat(result).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void testGivenOrderCreateUpdateDto_whenToObjectOrder_thenMatchModelMapper() {
+        // Given / Arrange
+        var orderCreateUpdateDto = OrderCreateUpdateDto.builder()
+                .discount(0.3)
+                .orderItems(Set.of(OrderItemDto.builder()
+                        .id(UUID.randomUUID())
+                        .item(new OrderItemDto.ItemDto(item.getId()))
+                        .amount(3)
+                        .build()))
+                .build();
+        var expected = modelMapper.map(orderCreateUpdateDto, Order.class);
+
+        // When / Act
+        var result = modelMapperService.toObject(Order.class, orderCreateUpdateDto);
+
+        // Then / Assert
+        assertThat(result).usingRecursiveComparison().isEqualTo(expected);
+        assertEquals(item.getId(), result.getOrderItems().get(0).getItem().getId());
+    }
+
+    @Test
+    void testGivenHibernateProxyItem_whenToObjectItemDetailDto_thenUseRegisteredMapper() {
+        // Given / Arrange
+        var lazyInitializer = mock(LazyInitializer.class);
+        var proxy = mock(Item.class, withSettings()
+                .extraInterfaces(HibernateProxy.class)
+                .defaultAnswer(AdditionalAnswers.delegatesTo(item)));
+        doReturn(proxy).when((HibernateProxy) proxy).asHibernateProxy();
+        doReturn(lazyInitializer).when((HibernateProxy) proxy).getHibernateLazyInitializer();
+        given(lazyInitializer.getImplementation()).willReturn(item);
+        var reflectiveModelMapper = mock(ModelMapper.class);
+        var service = new ModelMapperService(reflectiveModelMapper, new DtoMapper());
+
+        // When / Act
+        var result = service.toObject(ItemDetailDto.class, proxy);
+
+        // Then / Assert
+        verifyNoInteractions(reflectiveModelMapper);
+        assertEquals(item.getId(), result.getId());
+        assertEquals(item.getName(), result.getName());
+    }
+}
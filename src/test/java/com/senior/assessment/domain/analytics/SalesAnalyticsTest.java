@@ -0,0 +1,137 @@
+package com.senior.assessment.domain.analytics;
+
+import com.senior.assessment.domain.config.AssessmentConfigTest;
+import com.senior.assessment.domain.config.PostgreSQLContainerConfig;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.entity.OrderItem;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.enums.SalesGrouping;
+import com.senior.assessment.domain.repository.ItemRepository;
+import com.senior.assessment.domain.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Testcontainers
+@Import({AssessmentConfigTest.class, SalesAnalytics.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SalesAnalyticsTest extends PostgreSQLContainerConfig {
+    private Item product;
+    private Item service;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private SalesAnalytics salesAnalytics;
+
+    @BeforeEach
+    public void setup() {
+        product = itemRepository.save(Item.builder()
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(100.00))
+                .build());
+        service = itemRepository.save(Item.builder()
+                .name("Formatar Computadores")
+                .type(ItemType.SERVICE)
+                .price(BigDecimal.valueOf(50.00))
+                .build());
+        // Pedido aberto: 2 produtos com 10% de desconto + 1 serviço = 180 + 50
+        orderRepository.save(createOrder(OrderStatus.OPENED, 0.1, 2, 1, "230.00"));
+        // Pedido fechado: 1 produto + 2 serviços = 100 + 100
+        orderRepository.save(createOrder(OrderStatus.CLOSED, 0, 1, 2, "200.00"));
+        orderRepository.flush();
+        salesAnalytics.refresh();
+    }
+
+    @Test
+    void testGivenOrders_whenFindSalesByDay_thenReturnTotalsByStatus() {
+        // When / Act
+        var sales = salesAnalytics.findSales(SalesGrouping.DAY, LocalDate.now(), LocalDate.now(), null, null);
+
+        // Then / Assert
+        assertEquals(2, sales.size());
+        var closed = sales.get(0);
+        assertEquals(OrderStatus.CLOSED, closed.getStatus());
+        assertEquals(1, closed.getOrders());
+        assertEquals(3, closed.getUnits());
+        assertThat(closed.getRevenue()).isEqualByComparingTo("200.00");
+        var opened = sales.get(1);
+        assertEquals(OrderStatus.OPENED, opened.getStatus());
+        assertThat(opened.getRevenue()).isEqualByComparingTo("230.00");
+    }
+
+    @Test
+    void testGivenOrders_whenFindSalesByItemTypeFilteredByStatus_thenApplyDiscountOnlyToProducts() {
+        // When / Act
+        var sales = salesAnalytics.findSales(SalesGrouping.ITEM_TYPE, LocalDate.now(), LocalDate.now(),
+                OrderStatus.OPENED, null);
+
+        // Then / Assert
+        assertEquals(2, sales.size());
+        assertEquals(ItemType.PRODUCT, sales.get(0).getItemType());
+        assertEquals(2, sales.get(0).getUnits());
+        assertThat(sales.get(0).getRevenue()).isEqualByComparingTo("180.00");
+        assertEquals(ItemType.SERVICE, sales.get(1).getItemType());
+        assertThat(sales.get(1).getRevenue()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void testGivenOrders_whenFindSalesByItemFilteredByItemType_thenReturnItemRowsWithName() {
+        // When / Act
+        var sales = salesAnalytics.findSales(SalesGrouping.ITEM, LocalDate.now(), LocalDate.now(), null,
+                ItemType.SERVICE);
+
+        // Then / Assert
+        assertEquals(2, sales.size());
+        assertThat(sales).allSatisfy(sale -> {
+            assertEquals(service.getId(), sale.getItemId());
+            assertEquals("Formatar Computadores", sale.getItemName());
+            assertEquals(1, sale.getOrders());
+        });
+    }
+
+    @Test
+    void testGivenPeriodWithoutOrders_whenFindSales_thenReturnEmpty() {
+        // When / Act
+        var sales = salesAnalytics.findSales(SalesGrouping.DAY, LocalDate.now().minusDays(10),
+                LocalDate.now().minusDays(1), null, null);
+
+        // Then / Assert
+        assertThat(sales).isEmpty();
+    }
+
+    private Order createOrder(OrderStatus status, double discount, int products, int services, String total) {
+        var order = Order.builder()
+                .status(status)
+                .discount(discount)
+                .total(new BigDecimal(total))
+                .build();
+        order.getOrderItems().add(createOrderItem(order, product, products));
+        order.getOrderItems().add(createOrderItem(order, service, services));
+        return order;
+    }
+
+    private OrderItem createOrderItem(Order order, Item item, int amount) {
+        return OrderItem.builder()
+                .amount(amount)
+                .item(item)
+                .order(order)
+                .itemPrice(item.getPrice())
+                .build();
+    }
+}
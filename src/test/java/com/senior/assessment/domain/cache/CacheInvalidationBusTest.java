@@ -0,0 +1,71 @@
+package com.senior.assessment.domain.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+    @Mock
+    private DataSourceProperties dataSourceProperties;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Consumer<UUID> onEvict;
+
+    @Mock
+    private Runnable onFlush;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    public void setup() {
+        cacheInvalidationBus = new CacheInvalidationBus(dataSourceProperties, jdbcTemplate, false,
+                Duration.ofSeconds(10), Duration.ofSeconds(5));
+        cacheInvalidationBus.subscribe(ItemCache.CACHE_NAME, onEvict, onFlush);
+    }
+
+    @Test
+    void testGivenFailingSubscriber_whenDispatch_thenKeepDeliveringNextNotifications() {
+        // Given / Arrange
+        var failingId = UUID.randomUUID();
+        var nextId = UUID.randomUUID();
+        doThrow(new IllegalStateException("second-level cache unavailable")).when(onEvict).accept(failingId);
+
+        // When / Act
+        assertDoesNotThrow(() -> cacheInvalidationBus.dispatch(ItemCache.CACHE_NAME + ":" + failingId));
+        cacheInvalidationBus.dispatch(ItemCache.CACHE_NAME + ":" + nextId);
+
+        // Then / Assert
+        verify(onEvict, times(1)).accept(nextId);
+    }
+
+    @Test
+    void testGivenFlushAndInvalidPayloads_whenDispatch_thenFlushOnceAndIgnoreInvalid() {
+        // Given / Arrange
+        doThrow(new IllegalStateException("flush failed")).doNothing().when(onFlush).run();
+
+        // When / Act
+        assertDoesNotThrow(() -> cacheInvalidationBus.dispatch(ItemCache.CACHE_NAME + ":*"));
+        cacheInvalidationBus.dispatch(ItemCache.CACHE_NAME + ":not-a-uuid");
+        cacheInvalidationBus.dispatch("unknown:" + UUID.randomUUID());
+        cacheInvalidationBus.dispatch(ItemCache.CACHE_NAME + ":*");
+
+        // Then / Assert
+        verify(onFlush, times(2)).run();
+        verifyNoInteractions(onEvict);
+    }
+}
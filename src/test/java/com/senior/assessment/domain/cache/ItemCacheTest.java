@@ -0,0 +1,187 @@
+package com.senior.assessment.domain.cache;
+
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCacheTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemCache itemCache;
+
+    private Item item;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        given(entityManagerFactory.getCache()).willReturn(secondLevelCache);
+        given(secondLevelCache.unwrap(Cache.class)).willReturn(secondLevelCache);
+        itemCache = new ItemCache(itemRepository, cacheInvalidationBus, entityManagerFactory, meterRegistry, 100,
+                Duration.ofMinutes(10));
+        item = Item.builder()
+                .id(UUID.randomUUID())
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(50.00))
+                .build();
+    }
+
+    @Test
+    void testGivenCachedItem_whenGet_thenLoadOnceAndRecordHitAndMiss() {
+        // Given / Arrange
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+
+        // When / Act
+        var firstResult = itemCache.get(item.getId());
+        var secondResult = itemCache.get(item.getId());
+
+        // Then / Assert
+        assertEquals(Optional.of(item), firstResult);
+        assertEquals(Optional.of(item), secondResult);
+        verify(itemRepository, times(1)).findById(item.getId());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGivenNonExistingItemId_whenGet_thenReturnEmptyAndNotCache() {
+        // Given / Arrange
+        var itemId = UUID.randomUUID();
+        given(itemRepository.findById(itemId)).willReturn(Optional.empty());
+
+        // When / Act
+        var firstResult = itemCache.get(itemId);
+        var secondResult = itemCache.get(itemId);
+
+        // Then / Assert
+        assertTrue(firstResult.isEmpty());
+        assertTrue(secondResult.isEmpty());
+        verify(itemRepository, times(2)).findById(itemId);
+    }
+
+    @Test
+    void testGivenPartiallyCachedItems_whenGetAll_thenLoadOnlyMissingItems() {
+        // Given / Arrange
+        var otherItem = Item.builder()
+                .id(UUID.randomUUID())
+                .name("Formatar Computador")
+                .type(ItemType.SERVICE)
+                .price(BigDecimal.valueOf(100.00))
+                .build();
+        var missingItemId = UUID.randomUUID();
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        given(itemRepository.getAllByIdIn(Set.of(otherItem.getId(), missingItemId))).willReturn(Set.of(otherItem));
+        itemCache.get(item.getId());
+
+        // When / Act
+        var result = itemCache.getAll(Set.of(item.getId(), otherItem.getId(), missingItemId));
+
+        // Then / Assert
+        assertEquals(Set.of(item, otherItem), result);
+        verify(itemRepository, times(1)).getAllByIdIn(Set.of(otherItem.getId(), missingItemId));
+    }
+
+    @Test
+    void testGivenEvictDuringLoad_whenGetAll_thenReturnLoadedItemsWithoutCaching() {
+        // Given / Arrange
+        given(itemRepository.getAllByIdIn(Set.of(item.getId()))).willAnswer(invocation -> {
+            itemCache.evict(item.getId());
+            return Set.of(item);
+        }).willReturn(Set.of(item));
+
+        // When / Act
+        var firstResult = itemCache.getAll(Set.of(item.getId()));
+        var secondResult = itemCache.getAll(Set.of(item.getId()));
+        var thirdResult = itemCache.getAll(Set.of(item.getId()));
+
+        // Then / Assert
+        assertEquals(Set.of(item), firstResult);
+        assertEquals(Set.of(item), secondResult);
+        assertEquals(Set.of(item), thirdResult);
+        verify(itemRepository, times(2)).getAllByIdIn(Set.of(item.getId()));
+    }
+
+    @Test
+    void testGivenCachedItem_whenEvict_thenReloadFromRepository() {
+        // Given / Arrange
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        itemCache.get(item.getId());
+
+        // When / Act
+        itemCache.evict(item.getId());
+        itemCache.get(item.getId());
+
+        // Then / Assert
+        verify(itemRepository, times(2)).findById(item.getId());
+        verify(cacheInvalidationBus, times(1)).publish(ItemCache.CACHE_NAME, item.getId());
+        verify(secondLevelCache, times(1)).evictEntityData(Item.class, item.getId());
+    }
+
+    @Test
+    void testGivenCachedItem_whenRemoteInvalidation_thenReloadFromRepository() {
+        // Given / Arrange
+        var onEvict = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).subscribe(eq(ItemCache.CACHE_NAME), onEvict.capture(), any(Runnable.class));
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        itemCache.get(item.getId());
+
+        // When / Act
+        onEvict.getValue().accept(item.getId());
+        itemCache.get(item.getId());
+
+        // Then / Assert
+        verify(itemRepository, times(2)).findById(item.getId());
+        verify(cacheInvalidationBus, never()).publish(any(), any());
+        verify(secondLevelCache, times(1)).evictEntityData(Item.class, item.getId());
+    }
+
+    @Test
+    void testGivenCachedItem_whenEvictAll_thenEvictSecondLevelCacheRegion() {
+        // Given / Arrange
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        itemCache.get(item.getId());
+
+        // When / Act
+        itemCache.evictAll();
+        itemCache.get(item.getId());
+
+        // Then / Assert
+        verify(itemRepository, times(2)).findById(item.getId());
+        verify(secondLevelCache, times(1)).evictEntityData(Item.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.senior.assessment.domain.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Envolve o DataSource para gravar o SQL e os parâmetros de cada PreparedStatement executado,
+// permitindo repetir a mesma consulta com EXPLAIN
+public class StatementRecorder implements BeanPostProcessor {
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    public record Binding(Method setter, Object[] args) {
+    }
+
+    public record RecordedStatement(String sql, List<Binding> bindings) {
+        public void bind(PreparedStatement preparedStatement) throws SQLException {
+            for (var binding : bindings) {
+                try {
+                    binding.setter().invoke(preparedStatement, binding.args());
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new SQLException(e);
+                }
+            }
+        }
+    }
+
+    public void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    public List<RecordedStatement> stop() {
+        recording = false;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource)
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? proxyConnection(connection) : result);
+        return bean;
+    }
+
+    // private methods
+
+    private Connection proxyConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) ->
+                result instanceof PreparedStatement preparedStatement && method.getName().equals("prepareStatement")
+                        ? proxyPreparedStatement(preparedStatement, (String) args[0])
+                        : result);
+    }
+
+    private PreparedStatement proxyPreparedStatement(PreparedStatement preparedStatement, String sql) {
+        var bindings = new TreeMap<Integer, Binding>();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    var name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index)
+                        bindings.put(index, new Binding(method, args.clone()));
+                    else if (name.equals("clearParameters"))
+                        bindings.clear();
+                    else if (recording && (name.startsWith("execute") || name.equals("addBatch")) && args == null)
+                        statements.add(new RecordedStatement(sql, List.copyOf(bindings.values())));
+                    return invoke(method, preparedStatement, args);
+                });
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Method method, Object[] args, Object result);
+    }
+
+    private <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        return type.cast(Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> wrapper.wrap(method, args, invoke(method, target, args))));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.senior.assessment.domain.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senior.assessment.domain.dto.item.ItemCreateUpdateDto;
+import com.senior.assessment.domain.dto.item.ItemDetailDto;
+import com.senior.assessment.domain.enums.ItemStatus;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.infrastructure.exception.CustomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    private static final String SCOPE = "POST /items";
+    private static final String KEY = "retry-1";
+
+    @Mock
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyService idempotencyService;
+
+    private ItemCreateUpdateDto itemCreate;
+
+    private ItemDetailDto itemDetail;
+
+    @BeforeEach
+    public void setup() {
+        idempotencyService = new IdempotencyService(idempotencyKeyStore, objectMapper, Duration.ofHours(24));
+        itemCreate = ItemCreateUpdateDto.builder()
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(50.00))
+                .status(ItemStatus.ACTIVE)
+                .build();
+        itemDetail = new ItemDetailDto();
+        itemDetail.setId(UUID.randomUUID());
+        itemDetail.setName("Ebook");
+    }
+
+    @Test
+    void testGivenNoKey_whenExecute_thenRunOperationWithoutStore() {
+        // Given / Arrange
+        var executions = new AtomicInteger();
+
+        // When / Act
+        var response = idempotencyService.execute(SCOPE, null, itemCreate, ItemDetailDto.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok(itemDetail);
+        });
+
+        // Then / Assert
+        assertEquals(1, executions.get());
+        assertSame(itemDetail, response.getBody());
+        verifyNoInteractions(idempotencyKeyStore);
+    }
+
+    @Test
+    void testGivenNewKey_whenExecute_thenRunOperationAndStoreResponse() throws Exception {
+        // Given / Arrange
+        given(idempotencyKeyStore.claim(eq(SCOPE), eq(KEY), anyString(), any(LocalDateTime.class))).willReturn(true);
+
+        // When / Act
+        var response = idempotencyService.execute(SCOPE, KEY, itemCreate, ItemDetailDto.class,
+                () -> ResponseEntity.ok(itemDetail));
+
+        // Then / Assert
+        var json = ArgumentCaptor.forClass(String.class);
+        assertSame(itemDetail, response.getBody());
+        verify(idempotencyKeyStore, times(1)).complete(eq(SCOPE), eq(KEY), eq(200), json.capture());
+        assertEquals(itemDetail.getId(), objectMapper.readValue(json.getValue(), ItemDetailDto.class).getId());
+    }
+
+    @Test
+    void testGivenCompletedKeyWithSameRequest_whenExecute_thenReturnStoredResponseWithoutRunningOperation()
+            throws Exception {
+        // Given / Arrange
+        var requestHash = ArgumentCaptor.forClass(String.class);
+        given(idempotencyKeyStore.claim(eq(SCOPE), eq(KEY), requestHash.capture(), any(LocalDateTime.class)))
+                .willReturn(true, false);
+        idempotencyService.execute(SCOPE, KEY, itemCreate, ItemDetailDto.class, () -> ResponseEntity.ok(itemDetail));
+        given(idempotencyKeyStore.find(SCOPE, KEY)).willReturn(Optional.of(new IdempotentResponse(
+                requestHash.getValue(), 200, objectMapper.writeValueAsString(itemDetail))));
+        var executions = new AtomicInteger();
+
+        // When / Act
+        var response = idempotencyService.execute(SCOPE, KEY, itemCreate, ItemDetailDto.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok(itemDetail);
+        });
+
+        // Then / Assert
+        assertEquals(0, executions.get());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(itemDetail.getId(), response.getBody().getId());
+        verify(idempotencyKeyStore, times(1)).complete(anyString(), anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    void testGivenKeyUsedWithDifferentRequest_whenExecute_thenThrowUnprocessableEntity() {
+        // Given / Arrange
+        given(idempotencyKeyStore.claim(eq(SCOPE), eq(KEY), anyString(), any(LocalDateTime.class))).willReturn(false);
+        given(idempotencyKeyStore.find(SCOPE, KEY))
+                .willReturn(Optional.of(new IdempotentResponse("0".repeat(64), 200, "{}")));
+
+        // When / Act
+        var exception = assertThrows(CustomException.class, () -> idempotencyService.execute(SCOPE, KEY, itemCreate,
+                ItemDetailDto.class, () -> ResponseEntity.ok(itemDetail)));
+
+        // Then / Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getHttpStatus());
+        assertEquals("Idempotency-Key 'retry-1' was already used with a different request", exception.getMessage());
+    }
+
+    @Test
+    void testGivenBlankKey_whenExecute_thenThrowBadRequest() {
+        // When / Act
+        var exception = assertThrows(CustomException.class, () -> idempotencyService.execute(SCOPE, " ", itemCreate,
+                ItemDetailDto.class, () -> ResponseEntity.ok(itemDetail)));
+
+        // Then / Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(idempotencyKeyStore);
+    }
+}
@@ -0,0 +1,254 @@
+package com.senior.assessment.domain.intake;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senior.assessment.config.mapper.ModelMapperService;
+import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
+import com.senior.assessment.domain.dto.order.intake.OrderIntakeDto;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
+import com.senior.assessment.domain.service.OrderService;
+import com.senior.assessment.infrastructure.exception.CustomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeTest {
+    private static final Duration RESULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final Duration RECOVER_AFTER = Duration.ofMinutes(5);
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ModelMapperService modelMapperService;
+
+    @Mock
+    private OrderIntakeStore orderIntakeStore;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderIntake orderIntake;
+
+    @BeforeEach
+    public void setup() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        orderIntake = new OrderIntake(orderService, modelMapperService, orderIntakeStore, transactionTemplate,
+                objectMapper, false, 2, 50, Duration.ofMillis(10), Duration.ofSeconds(1), RESULT_TIME_TO_LIVE,
+                RECOVER_AFTER);
+    }
+
+    @Test
+    void testGivenPendingSubmissions_whenProcess_thenCreateGroupAndStoreResultsByHandle() {
+        // Given / Arrange
+        var orderOne = Order.builder().id(UUID.randomUUID()).build();
+        var orderTwo = Order.builder().id(UUID.randomUUID()).build();
+        var orderId = UUID.randomUUID();
+        var submissions = List.of(createSubmission(), createSubmission());
+        given(orderIntakeStore.lockPending(anyList())).willReturn(handles(submissions));
+        given(modelMapperService.toObject(eq(Order.class), any(OrderCreateUpdateDto.class)))
+                .willReturn(orderOne, orderTwo);
+        given(orderService.createOrders(List.of(orderOne, orderTwo))).willReturn(List.of(
+                OrderIntakeDto.builder().status(OrderIntakeStatus.CREATED).orderId(orderId).build(),
+                OrderIntakeDto.builder().status(OrderIntakeStatus.REJECTED).errorStatus(404).message("Not found").build()
+        ));
+
+        // When / Act
+        orderIntake.process(submissions);
+
+        // Then / Assert
+        var results = captureCompletedResults(1).get(0);
+        assertEquals(submissions.get(0).handle(), results.get(0).getHandle());
+        assertEquals(OrderIntakeStatus.CREATED, results.get(0).getStatus());
+        assertEquals(orderId, results.get(0).getOrderId());
+        assertEquals(submissions.get(1).handle(), results.get(1).getHandle());
+        assertEquals(OrderIntakeStatus.REJECTED, results.get(1).getStatus());
+        assertEquals(404, results.get(1).getErrorStatus());
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void testGivenSubmissionCompletedByAnotherInstance_whenProcess_thenCreateOnlyPendingOnes() {
+        // Given / Arrange
+        var order = Order.builder().id(UUID.randomUUID()).build();
+        var submissions = List.of(createSubmission(), createSubmission());
+        given(orderIntakeStore.lockPending(anyList())).willReturn(Set.of(submissions.get(1).handle()));
+        given(modelMapperService.toObject(eq(Order.class), any(OrderCreateUpdateDto.class))).willReturn(order);
+        given(orderService.createOrders(List.of(order))).willReturn(List.of(
+                OrderIntakeDto.builder().status(OrderIntakeStatus.CREATED).orderId(order.getId()).build()
+        ));
+
+        // When / Act
+        orderIntake.process(submissions);
+
+        // Then / Assert
+        var results = captureCompletedResults(1).get(0);
+        assertEquals(1, results.size());
+        assertEquals(submissions.get(1).handle(), results.get(0).getHandle());
+        verify(modelMapperService, times(1)).toObject(eq(Order.class), any(OrderCreateUpdateDto.class));
+    }
+
+    @Test
+    void testGivenGroupTransactionFails_whenProcess_thenCreateEachOrderInOwnTransaction() {
+        // Given / Arrange
+        var orderOne = Order.builder().id(UUID.randomUUID()).build();
+        var orderTwo = Order.builder().id(UUID.randomUUID()).build();
+        var orderId = UUID.randomUUID();
+        var submissions = List.of(createSubmission(), createSubmission());
+        given(orderIntakeStore.lockPending(anyList())).willAnswer(invocation ->
+                Set.copyOf(invocation.<Collection<UUID>>getArgument(0)));
+        given(modelMapperService.toObject(eq(Order.class), any(OrderCreateUpdateDto.class)))
+                .willReturn(orderOne, orderTwo, orderOne, orderTwo);
+        given(orderService.createOrders(anyList())).willThrow(new DataAccessResourceFailureException("failed"));
+        given(orderService.createOrder(orderOne)).willReturn(Order.builder().id(orderId).build());
+        given(orderService.createOrder(orderTwo)).willThrow(CustomException.builder()
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .message("Invalid order")
+                .build());
+
+        // When / Act
+        orderIntake.process(submissions);
+
+        // Then / Assert
+        var results = captureCompletedResults(2);
+        var created = results.get(0).get(0);
+        var rejected = results.get(1).get(0);
+        assertEquals(submissions.get(0).handle(), created.getHandle());
+        assertEquals(OrderIntakeStatus.CREATED, created.getStatus());
+        assertEquals(orderId, created.getOrderId());
+        assertEquals(submissions.get(1).handle(), rejected.getHandle());
+        assertEquals(OrderIntakeStatus.REJECTED, rejected.getStatus());
+        assertEquals(400, rejected.getErrorStatus());
+        assertEquals("Invalid order", rejected.getMessage());
+    }
+
+    @Test
+    void testGivenStoppedIntake_whenSubmit_thenThrowServiceUnavailable() {
+        // When / Act
+        var exception = assertThrows(CustomException.class, () -> orderIntake.submit(new OrderCreateUpdateDto()));
+
+        // Then / Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        verify(orderIntakeStore, never()).insertPending(any(), anyString());
+    }
+
+    @Test
+    void testGivenFullQueue_whenSubmit_thenThrowServiceUnavailableAndDeletePendingHandle() {
+        // Given / Arrange
+        // Aceitando pedidos mas sem worker consumindo: a fila (capacidade 2) só enche
+        ReflectionTestUtils.setField(orderIntake, "running", true);
+        var pending = orderIntake.submit(new OrderCreateUpdateDto());
+        orderIntake.submit(new OrderCreateUpdateDto());
+
+        // When / Act
+        var exception = assertThrows(CustomException.class, () -> orderIntake.submit(new OrderCreateUpdateDto()));
+
+        // Then / Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        assertEquals(OrderIntakeStatus.PENDING, pending.getStatus());
+        verify(orderIntakeStore, times(1)).insertPending(eq(pending.getHandle()), anyString());
+        verify(orderIntakeStore, times(3)).insertPending(any(), anyString());
+        verify(orderIntakeStore, times(1)).delete(any());
+        verify(orderIntakeStore, never()).delete(pending.getHandle());
+    }
+
+    @Test
+    void testGivenQueuedSubmissions_whenStop_thenCreateThemBeforeReturning() {
+        // Given / Arrange
+        var order = Order.builder().id(UUID.randomUUID()).build();
+        ReflectionTestUtils.setField(orderIntake, "running", true);
+        // Worker que já terminou: o stop não espera e cria o que sobrou na fila
+        ReflectionTestUtils.setField(orderIntake, "intakeThread", new Thread(() -> {
+        }));
+        orderIntake.submit(new OrderCreateUpdateDto());
+        orderIntake.submit(new OrderCreateUpdateDto());
+        given(orderIntakeStore.lockPending(anyList())).willAnswer(invocation ->
+                Set.copyOf(invocation.<Collection<UUID>>getArgument(0)));
+        given(modelMapperService.toObject(eq(Order.class), any(OrderCreateUpdateDto.class))).willReturn(order);
+        given(orderService.createOrders(anyList())).willReturn(List.of(
+                OrderIntakeDto.builder().status(OrderIntakeStatus.CREATED).orderId(order.getId()).build(),
+                OrderIntakeDto.builder().status(OrderIntakeStatus.CREATED).orderId(order.getId()).build()
+        ));
+
+        // When / Act
+        orderIntake.stop();
+
+        // Then / Assert
+        assertFalse(orderIntake.isRunning());
+        assertEquals(2, captureCompletedResults(1).get(0).size());
+        assertTrue(queue().isEmpty());
+    }
+
+    @Test
+    void testGivenStalePendingIntake_whenRecover_thenEnqueueRequestAndDeleteExpiredResults() throws Exception {
+        // Given / Arrange
+        var handle = UUID.randomUUID();
+        var request = objectMapper.writeValueAsString(new OrderCreateUpdateDto());
+        given(orderIntakeStore.claimStale(RECOVER_AFTER, 2)).willReturn(List.of(
+                new PendingOrderIntake(handle, request),
+                new PendingOrderIntake(UUID.randomUUID(), "{invalid")
+        ));
+
+        // When / Act
+        orderIntake.recover();
+
+        // Then / Assert
+        assertEquals(1, queue().size());
+        assertEquals(handle, queue().peek().handle());
+        var rejected = captureCompletedResults(1).get(0).get(0);
+        assertEquals(OrderIntakeStatus.REJECTED, rejected.getStatus());
+        assertEquals(500, rejected.getErrorStatus());
+        verify(orderIntakeStore, times(1)).deleteExpired();
+    }
+
+    private OrderIntake.Submission createSubmission() {
+        return new OrderIntake.Submission(UUID.randomUUID(), new OrderCreateUpdateDto());
+    }
+
+    private Set<UUID> handles(List<OrderIntake.Submission> submissions) {
+        return Set.of(submissions.get(0).handle(), submissions.get(1).handle());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<OrderIntakeDto>> captureCompletedResults(int times) {
+        ArgumentCaptor<List<OrderIntakeDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderIntakeStore, times(times)).complete(captor.capture(), eq(RESULT_TIME_TO_LIVE));
+        return captor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private BlockingQueue<OrderIntake.Submission> queue() {
+        return (BlockingQueue<OrderIntake.Submission>) ReflectionTestUtils.getField(orderIntake, "queue");
+    }
+}
@@ -0,0 +1,37 @@
+package com.senior.assessment.domain.outbox;
+
+import com.senior.assessment.domain.enums.OrderEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileOrderEventSinkTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testGivenTwoBatches_whenPublish_thenAppendOneNdjsonLinePerEvent() throws IOException {
+        // Given / Arrange
+        var path = directory.resolve("events/order-events.ndjson");
+        var fileOrderEventSink = new FileOrderEventSink(path);
+        var first = new OrderOutboxEvent(1L, UUID.randomUUID(), OrderEventType.CREATED,
+                "{\"eventId\": 1}", LocalDateTime.now());
+        var second = new OrderOutboxEvent(2L, UUID.randomUUID(), OrderEventType.CLOSED,
+                "{\"eventId\": 2}", LocalDateTime.now());
+
+        // When / Act
+        fileOrderEventSink.publish(List.of(first));
+        fileOrderEventSink.publish(List.of(second));
+
+        // Then / Assert
+        assertEquals(List.of("{\"eventId\": 1}", "{\"eventId\": 2}"), Files.readAllLines(path));
+    }
+}
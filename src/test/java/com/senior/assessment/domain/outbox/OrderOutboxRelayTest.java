@@ -0,0 +1,127 @@
+package com.senior.assessment.domain.outbox;
+
+import com.senior.assessment.domain.enums.OrderEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private OrderEventSink orderEventSink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @BeforeEach
+    public void setup() {
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<List<OrderOutboxEvent>>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        orderOutboxRelay = new OrderOutboxRelay(orderOutbox, orderEventSink, transactionTemplate,
+                false, BATCH_SIZE, Duration.ofSeconds(1), LEASE);
+    }
+
+    @Test
+    void testGivenPendingEvents_whenRelayBatch_thenPublishOutsideTransactionAndDeleteBatch() throws IOException {
+        // Given / Arrange
+        var events = List.of(createEvent(1L), createEvent(2L));
+        given(orderOutbox.claimNextBatch(BATCH_SIZE, LEASE)).willReturn(events);
+
+        // When / Act
+        var relayed = orderOutboxRelay.relayBatch();
+
+        // Then / Assert
+        assertEquals(2, relayed);
+        var inOrder = inOrder(transactionTemplate, orderEventSink);
+        inOrder.verify(transactionTemplate, times(1)).execute(any());
+        inOrder.verify(orderEventSink, times(1)).publish(events);
+        inOrder.verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(orderOutbox, times(1)).delete(events);
+        verify(orderOutbox, never()).release(any());
+    }
+
+    @Test
+    void testGivenEmptyOutbox_whenRelayBatch_thenPublishNothing() throws IOException {
+        // Given / Arrange
+        given(orderOutbox.claimNextBatch(BATCH_SIZE, LEASE)).willReturn(List.of());
+
+        // When / Act
+        var relayed = orderOutboxRelay.relayBatch();
+
+        // Then / Assert
+        assertEquals(0, relayed);
+        verify(orderEventSink, never()).publish(any());
+        verify(orderOutbox, never()).delete(any());
+    }
+
+    @Test
+    void testGivenSinkFailure_whenRelayBatch_thenReleaseEventsBackToOutbox() throws IOException {
+        // Given / Arrange
+        var events = List.of(createEvent(1L));
+        given(orderOutbox.claimNextBatch(BATCH_SIZE, LEASE)).willReturn(events);
+        willThrow(new IOException("sink unavailable")).given(orderEventSink).publish(events);
+
+        // When / Act
+        assertThrows(UncheckedIOException.class, () -> orderOutboxRelay.relayBatch());
+
+        // Then / Assert
+        verify(orderOutbox, times(1)).release(events);
+        verify(orderOutbox, never()).delete(any());
+    }
+
+    @Test
+    void testGivenSinkAndReleaseFailure_whenRelayBatch_thenPropagateSinkFailure() throws IOException {
+        // Given / Arrange
+        var events = List.of(createEvent(1L));
+        given(orderOutbox.claimNextBatch(BATCH_SIZE, LEASE)).willReturn(events);
+        willThrow(new IllegalStateException("sink rejected batch")).given(orderEventSink).publish(events);
+        willThrow(new IllegalStateException("database unavailable")).given(orderOutbox).release(events);
+
+        // When / Act
+        var exception = assertThrows(IllegalStateException.class, () -> orderOutboxRelay.relayBatch());
+
+        // Then / Assert
+        assertEquals("sink rejected batch", exception.getMessage());
+        verify(orderOutbox, never()).delete(any());
+    }
+
+    // private methods
+
+    private OrderOutboxEvent createEvent(long id) {
+        var orderId = UUID.randomUUID();
+        return new OrderOutboxEvent(id, orderId, OrderEventType.CLOSED,
+                String.format("{\"type\": \"CLOSED\", \"orderId\": \"%s\", \"eventId\": %d}", orderId, id),
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,117 @@
+package com.senior.assessment.domain.outbox;
+
+import com.senior.assessment.domain.config.AssessmentConfigTest;
+import com.senior.assessment.domain.config.PostgreSQLContainerConfig;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.entity.OrderItem;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderEventType;
+import com.senior.assessment.domain.repository.ItemRepository;
+import com.senior.assessment.domain.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Testcontainers
+@Import({AssessmentConfigTest.class, OrderOutbox.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class OrderOutboxTest extends PostgreSQLContainerConfig {
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private Order order;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @BeforeEach
+    public void setup() {
+        var item = itemRepository.save(Item.builder()
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(50.00))
+                .build());
+        order = Order.builder().total(BigDecimal.valueOf(100.00)).build();
+        order.getOrderItems().add(OrderItem.builder()
+                .amount(2)
+                .item(item)
+                .order(order)
+                .itemPrice(item.getPrice())
+                .build());
+        orderRepository.save(order);
+    }
+
+    @Test
+    void testGivenUnflushedOrder_whenAppend_thenClaimNextBatchReturnsSnapshotWithEventId() {
+        // Given / Arrange
+        orderOutbox.append(Set.of(order.getId()), OrderEventType.CREATED);
+
+        // When / Act
+        var events = orderOutbox.claimNextBatch(10, LEASE);
+
+        // Then / Assert
+        assertEquals(1, events.size());
+        assertEquals(order.getId(), events.get(0).orderId());
+        assertEquals(OrderEventType.CREATED, events.get(0).type());
+        assertThat(events.get(0).payload())
+                .contains("\"eventId\": " + events.get(0).id())
+                .contains("\"orderId\": \"" + order.getId() + "\"")
+                .contains("\"total\": 100.00");
+    }
+
+    @Test
+    void testGivenRelayedEvents_whenDelete_thenOutboxIsEmpty() {
+        // Given / Arrange
+        orderOutbox.append(Set.of(order.getId()), OrderEventType.CLOSED);
+        var events = orderOutbox.claimNextBatch(10, LEASE);
+
+        // When / Act
+        orderOutbox.delete(events);
+
+        // Then / Assert
+        assertThat(orderOutbox.claimNextBatch(10, LEASE)).isEmpty();
+    }
+
+    @Test
+    void testGivenClaimedEvents_whenClaimNextBatch_thenSkipUntilReleased() {
+        // Given / Arrange
+        orderOutbox.append(Set.of(order.getId()), OrderEventType.CREATED);
+        var events = orderOutbox.claimNextBatch(10, LEASE);
+
+        // When / Act
+        var claimedAgain = orderOutbox.claimNextBatch(10, LEASE);
+        orderOutbox.release(events);
+
+        // Then / Assert
+        assertThat(claimedAgain).isEmpty();
+        assertEquals(events.get(0).id(), orderOutbox.claimNextBatch(10, LEASE).get(0).id());
+    }
+
+    @Test
+    void testGivenExpiredLease_whenClaimNextBatch_thenClaimEventsAgain() {
+        // Given / Arrange
+        orderOutbox.append(Set.of(order.getId()), OrderEventType.CREATED);
+        var events = orderOutbox.claimNextBatch(10, Duration.ofMillis(-1));
+
+        // When / Act
+        var claimedAgain = orderOutbox.claimNextBatch(10, LEASE);
+
+        // Then / Assert
+        assertEquals(1, claimedAgain.size());
+        assertEquals(events.get(0).id(), claimedAgain.get(0).id());
+    }
+}
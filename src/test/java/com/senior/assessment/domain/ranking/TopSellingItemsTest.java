@@ -0,0 +1,149 @@
+package com.senior.assessment.domain.ranking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class TopSellingItemsTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TopSellingItems topSellingItems;
+
+    private final UUID itemIdOne = UUID.randomUUID();
+    private final UUID itemIdTwo = UUID.randomUUID();
+    private final UUID itemIdThree = UUID.randomUUID();
+
+    @BeforeEach
+    public void setup() {
+        topSellingItems = new TopSellingItems(jdbcTemplate, false, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testGivenRecordedDeltas_whenTop_thenReturnItemsOrderedByUnits() {
+        // Given / Arrange
+        topSellingItems.record(Map.of(itemIdOne, 2L, itemIdTwo, 5L, itemIdThree, 1L));
+        topSellingItems.record(Map.of(itemIdOne, 4L));
+
+        // When / Act
+        var top = topSellingItems.top(2);
+
+        // Then / Assert
+        assertEquals(List.of(new TopSellingItems.ItemUnits(itemIdOne, 6L), new TopSellingItems.ItemUnits(itemIdTwo, 5L)),
+                top);
+    }
+
+    @Test
+    void testGivenNegativeDeltaToZero_whenTop_thenItemIsRemoved() {
+        // Given / Arrange
+        topSellingItems.record(Map.of(itemIdOne, 2L, itemIdTwo, 3L));
+        topSellingItems.record(Map.of(itemIdTwo, -3L));
+
+        // When / Act
+        var top = topSellingItems.top(10);
+
+        // Then / Assert
+        assertEquals(List.of(new TopSellingItems.ItemUnits(itemIdOne, 2L)), top);
+    }
+
+    @Test
+    void testGivenActiveTransaction_whenRecord_thenApplyOnlyAfterCommit() {
+        // Given / Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            topSellingItems.record(Map.of(itemIdOne, 2L));
+
+            // When / Act
+            var beforeCommit = topSellingItems.top(10);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Then / Assert
+            assertTrue(beforeCommit.isEmpty());
+            assertEquals(List.of(new TopSellingItems.ItemUnits(itemIdOne, 2L)), topSellingItems.top(10));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGivenDatabaseTotals_whenRebuild_thenReplaceRanking() throws Exception {
+        // Given / Arrange
+        topSellingItems.record(Map.of(itemIdThree, 100L));
+        var resultSet = mock(ResultSet.class);
+        given(resultSet.getObject("item_id", UUID.class)).willReturn(itemIdOne, itemIdTwo);
+        given(resultSet.getLong("units")).willReturn(3L, 7L);
+        willAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).given(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        // When / Act
+        topSellingItems.rebuild();
+
+        // Then / Assert
+        assertEquals(List.of(new TopSellingItems.ItemUnits(itemIdTwo, 7L), new TopSellingItems.ItemUnits(itemIdOne, 3L)),
+                topSellingItems.top(10));
+    }
+
+    @Test
+    void testGivenDeltaCommittedDuringRebuild_whenRebuild_thenReplayDeltaOnNewSnapshot() throws Exception {
+        // Given / Arrange
+        var resultSet = mock(ResultSet.class);
+        given(resultSet.getObject("item_id", UUID.class)).willReturn(itemIdOne);
+        given(resultSet.getLong("units")).willReturn(3L);
+        willAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            topSellingItems.record(Map.of(itemIdOne, 2L, itemIdTwo, 4L));
+            return null;
+        }).given(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        // When / Act
+        topSellingItems.rebuild();
+        topSellingItems.record(Map.of(itemIdOne, 1L));
+
+        // Then / Assert
+        assertEquals(List.of(new TopSellingItems.ItemUnits(itemIdOne, 6L), new TopSellingItems.ItemUnits(itemIdTwo, 4L)),
+                topSellingItems.top(10));
+    }
+
+    @Test
+    void testGivenRebuildFailure_whenRebuild_thenKeepCurrentRanking() {
+        // Given / Arrange
+        willThrow(new IllegalStateException("database unavailable"))
+                .given(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        topSellingItems.record(Map.of(itemIdOne, 2L));
+
+        // When / Act
+        assertThrows(IllegalStateException.class, () -> topSellingItems.rebuild());
+        topSellingItems.record(Map.of(itemIdOne, 1L));
+
+        // Then / Assert
+        assertEquals(List.of(new TopSellingItems.ItemUnits(itemIdOne, 3L)), topSellingItems.top(10));
+    }
+}
@@ -1,9 +1,15 @@
 package com.senior.assessment.domain.repository;
 
+import com.senior.assessment.config.id.UuidV7Generator;
 import com.senior.assessment.domain.config.AssessmentConfigTest;
 import com.senior.assessment.domain.config.PostgreSQLContainerConfig;
 import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.querydsl.ItemDslPredicate;
+import com.senior.assessment.domain.querydsl.search.ItemSearch;
+import com.senior.assessment.domain.repository.ItemRepositoryCustom.MergeCount;
+import com.senior.assessment.domain.repository.ItemRepositoryCustom.NameAndType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +19,10 @@ import org.springframework.context.annotation.Import;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -139,4 +148,116 @@ public class ItemRepositoryTest extends PostgreSQLContainerConfig {
         assertNotNull(result);
         assertEquals(0, result.size());
     }
+
+    @Test
+    void testGivenAccentedAndUpperCaseQuery_whenFindAllByItemDslPredicate_thenReturnMatchingItems() {
+        // Given / Arrange
+        var accentedItem = itemRepository.save(Item.builder()
+                .name("Instalação Elétrica")
+                .type(ItemType.SERVICE)
+                .price(BigDecimal.valueOf(150.00))
+                .build());
+        var itemSearch = ItemSearch.builder().query("INSTALACAO ele").build();
+
+        // When / Act
+        var result = itemRepository.findAll(new ItemDslPredicate().expression(itemSearch));
+
+        // Then / Assert
+        assertNotNull(result);
+        assertEquals(List.of(accentedItem), result);
+    }
+
+    @Test
+    void testGivenNameAndTypeCandidates_whenFindExistingNameAndType_thenReturnOnlyExisting() {
+        // Given / Arrange
+        var candidates = Set.of(
+                new NameAndType("Mouse Pad", ItemType.PRODUCT),
+                new NameAndType("Mouse Pad", ItemType.SERVICE),
+                new NameAndType("Teclado", ItemType.PRODUCT)
+        );
+
+        // When / Act
+        var result = itemRepository.findExistingNameAndType(candidates);
+
+        // Then / Assert
+        assertEquals(Set.of(new NameAndType("Mouse Pad", ItemType.PRODUCT)), result);
+    }
+
+    @Test
+    void testGivenNewItems_whenBatchInsert_thenAssignIdsAndPersist() {
+        // Given / Arrange
+        var items = List.of(
+                Item.builder().name("Teclado").type(ItemType.PRODUCT).price(BigDecimal.valueOf(120.00)).build(),
+                Item.builder().name("Instalar Teclado").type(ItemType.SERVICE).price(BigDecimal.valueOf(30.00)).build()
+        );
+
+        // When / Act
+        var inserted = itemRepository.batchInsert(items);
+
+        // Then / Assert
+        items.forEach(item -> assertNotNull(item.getId()));
+        assertEquals(Set.of(items.get(0).getId(), items.get(1).getId()), inserted);
+        var result = itemRepository.getAllByIdIn(Set.of(items.get(0).getId(), items.get(1).getId()));
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void testGivenExistingNameAndType_whenBatchInsert_thenSkipRowAndReturnOnlyInsertedIds() {
+        // Given / Arrange
+        itemRepository.flush();
+        var items = List.of(
+                Item.builder().name(productItem.getName()).type(productItem.getType())
+                        .price(BigDecimal.valueOf(10.00)).build(),
+                Item.builder().name("Mouse Pad").type(ItemType.PRODUCT).price(BigDecimal.valueOf(25.00)).build()
+        );
+
+        // When / Act
+        var inserted = itemRepository.batchInsert(items);
+
+        // Then / Assert
+        assertEquals(Set.of(items.get(1).getId()), inserted);
+        assertTrue(itemRepository.existsItemByNameAndType("Mouse Pad", ItemType.PRODUCT));
+    }
+
+    @Test
+    void testGivenStagedItems_whenMergeImportStaging_thenInsertNewAndUpdateChangedItems() {
+        // Given / Arrange
+        var staged = List.of(
+                Item.builder().id(UuidV7Generator.randomUuid()).name("Mouse Pad").type(ItemType.PRODUCT)
+                        .status(ItemStatus.DISABLED).price(BigDecimal.valueOf(25.00)).build(),
+                Item.builder().id(UuidV7Generator.randomUuid()).name("Formatar Computadores").type(ItemType.SERVICE)
+                        .status(ItemStatus.ACTIVE).price(BigDecimal.valueOf(20.00)).build(),
+                Item.builder().id(UuidV7Generator.randomUuid()).name("Teclado").type(ItemType.PRODUCT)
+                        .status(ItemStatus.ACTIVE).price(BigDecimal.valueOf(120.00)).build()
+        );
+        itemRepository.flush();
+        itemRepository.createImportStaging();
+
+        // When / Act
+        var copied = itemRepository.copyToImportStaging(staged.stream());
+        var result = itemRepository.mergeImportStaging(LocalDateTime.now());
+
+        // Then / Assert
+        assertEquals(3, copied);
+        assertEquals(new MergeCount(1, 1), result);
+        assertTrue(itemRepository.existsItemByNameAndType("Teclado", ItemType.PRODUCT));
+    }
+
+    @Test
+    void testGivenOrderLineDeltas_whenAddOrderLineCounts_thenUpdateCountersAndReturnUpdatedItems() {
+        // Given / Arrange
+        itemRepository.flush();
+        itemRepository.addOrderLineCounts(Map.of(productItem.getId(), 3L));
+
+        // When / Act
+        var updated = itemRepository.addOrderLineCounts(Map.of(productItem.getId(), -3L,
+                serviceItem.getId(), 1L, UUID.randomUUID(), 1L));
+
+        // Then / Assert
+        assertEquals(Set.of(productItem.getId(), serviceItem.getId()), updated);
+        assertEquals(Optional.of(0L), itemRepository.findOrderLineCountById(productItem.getId()));
+        assertEquals(Optional.of(1L), itemRepository.findOrderLineCountById(serviceItem.getId()));
+        assertEquals(0, itemRepository.deleteByIdWhereNotLinkedWithOrder(serviceItem.getId()));
+        assertEquals(1, itemRepository.deleteByIdWhereNotLinkedWithOrder(productItem.getId()));
+    }
 }
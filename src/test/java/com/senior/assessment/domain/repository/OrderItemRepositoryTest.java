@@ -56,28 +56,6 @@ public class OrderItemRepositoryTest extends PostgreSQLContainerConfig {
         orderRepository.save(order);
     }
 
-    @Test
-    void testGivenItemId_whenExistsOrderItemByItemId_thenReturnTrue() {
-        // Given / Arrange
-
-        // When / Act
-        var existsOrderItem = orderItemRepository.existsOrderItemByItemId(item.getId());
-
-        // Then / Assert
-        assertTrue(existsOrderItem);
-    }
-
-    @Test
-    void testGivenNonExistingItemId_whenExistsOrderItemByItemId_thenReturnFalse() {
-        // Given / Arrange
-
-        // When / Act
-        var existsOrderItem = orderItemRepository.existsOrderItemByItemId(UUID.randomUUID());
-
-        // Then / Assert
-        assertFalse(existsOrderItem);
-    }
-
     @Test
     void testGivenExistingOrderItemsIds_whenGetAllByIdIn_thenReturnOrderItems() {
         // Given / Arrange
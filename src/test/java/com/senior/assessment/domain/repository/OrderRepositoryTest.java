@@ -8,20 +8,30 @@ import com.senior.assessment.domain.entity.OrderItem;
 import com.senior.assessment.domain.entity.QOrder;
 import com.senior.assessment.domain.enums.ItemType;
 import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Testcontainers
 @Import(AssessmentConfigTest.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -31,6 +41,8 @@ public class OrderRepositoryTest extends PostgreSQLContainerConfig {
     private ItemRepository itemRepository;
     @Autowired
     private OrderRepository orderRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     @BeforeEach
     public void setup() {
@@ -60,7 +72,7 @@ public class OrderRepositoryTest extends PostgreSQLContainerConfig {
                         .and(qOrder.status.eq(newStatus));
 
         // When / Act
-        orderRepository.updateStatus(order.getId(), newStatus);
+        orderRepository.updateStatus(order.getId(), OrderStatus.OPENED, newStatus);
         var existsOrder = orderRepository.exists(expressionOrderByIdAndStatus);
 
         // Then / Assert
@@ -76,10 +88,100 @@ public class OrderRepositoryTest extends PostgreSQLContainerConfig {
                 .and(qOrder.status.eq(newStatus));
 
         // When / Act
-        orderRepository.updateStatus(UUID.randomUUID(), newStatus);
+        orderRepository.updateStatus(UUID.randomUUID(), OrderStatus.OPENED, newStatus);
         var existsOrder = orderRepository.exists(expressionOrderByIdAndStatus);
 
         // Then / Assert
         assertFalse(existsOrder);
     }
+
+    @Test
+    void testGivenPageOfOrders_whenFindAllFetchOrderItemsByIdIn_thenInitializeOrderItemsInOneStatement() {
+        // Given / Arrange
+        var item = itemRepository.save(Item.builder()
+                .name("Mouse")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(30.00))
+                .build());
+        IntStream.range(0, 15).forEach(index -> {
+            var newOrder = new Order();
+            newOrder.getOrderItems().add(OrderItem.builder()
+                    .amount(index + 1)
+                    .item(item)
+                    .order(newOrder)
+                    .itemPrice(item.getPrice())
+                    .build());
+            orderRepository.save(newOrder);
+        });
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When / Act
+        var orders = orderRepository.findAll(QOrder.order.id.isNotNull(), PageRequest.of(0, 20)).getContent();
+        orderRepository.findAllFetchOrderItemsByIdIn(orders.stream().map(Order::getId).toList());
+        orders.forEach(foundOrder -> foundOrder.getOrderItems()
+                .forEach(orderItem -> assertNotNull(orderItem.getItem().getName())));
+
+        // Then / Assert
+        assertEquals(16, orders.size());
+        orders.forEach(foundOrder -> assertTrue(Hibernate.isInitialized(foundOrder.getOrderItems())));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testGivenOpenedClosedAndMissingIds_whenUpdateStatusWhereOpened_thenChangeOnlyOpenedOrders() {
+        // Given / Arrange
+        var closedOrder = Order.builder().status(OrderStatus.CLOSED).build();
+        closedOrder.getOrderItems().add(OrderItem.builder()
+                .amount(1)
+                .item(order.getOrderItems().get(0).getItem())
+                .order(closedOrder)
+                .itemPrice(BigDecimal.valueOf(50.00))
+                .build());
+        orderRepository.save(closedOrder);
+        var missingId = UUID.randomUUID();
+        orderRepository.flush();
+
+        // When / Act
+        var statusChange = orderRepository.updateStatusWhereOpened(
+                List.of(order.getId(), closedOrder.getId(), missingId), OrderStatus.CLOSED, LocalDateTime.now());
+        entityManager.clear();
+
+        // Then / Assert
+        assertEquals(Set.of(order.getId()), statusChange.changed());
+        assertEquals(Set.of(closedOrder.getId()), statusChange.unchanged());
+        assertEquals(OrderStatus.CLOSED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testGivenOrderSearch_whenUpdateStatusWhereOpened_thenChangeOnlyMatchingOpenedOrders() {
+        // Given / Arrange
+        var serviceItem = itemRepository.save(Item.builder()
+                .name("Formatação")
+                .type(ItemType.SERVICE)
+                .price(BigDecimal.valueOf(80.00))
+                .build());
+        var serviceOrder = new Order();
+        serviceOrder.getOrderItems().add(OrderItem.builder()
+                .amount(1)
+                .item(serviceItem)
+                .order(serviceOrder)
+                .itemPrice(serviceItem.getPrice())
+                .build());
+        orderRepository.save(serviceOrder);
+        orderRepository.flush();
+
+        // When / Act
+        var changed = orderRepository.updateStatusWhereOpened(
+                OrderSearch.builder().query("formatacao").itemType(ItemType.SERVICE).build(),
+                OrderStatus.CLOSED, LocalDateTime.now());
+        entityManager.clear();
+
+        // Then / Assert
+        assertEquals(Set.of(serviceOrder.getId()), changed);
+        assertEquals(OrderStatus.CLOSED, orderRepository.findById(serviceOrder.getId()).orElseThrow().getStatus());
+        assertEquals(OrderStatus.OPENED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+    }
 }
@@ -0,0 +1,410 @@
+package com.senior.assessment.domain.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senior.assessment.config.id.UuidV7Generator;
+import com.senior.assessment.domain.config.AssessmentConfigTest;
+import com.senior.assessment.domain.config.PostgreSQLContainerConfig;
+import com.senior.assessment.domain.config.StatementRecorder;
+import com.senior.assessment.domain.config.StatementRecorder.RecordedStatement;
+import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ItemStatus;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.querydsl.ItemDslPredicate;
+import com.senior.assessment.domain.querydsl.OrderDslPredicate;
+import com.senior.assessment.domain.querydsl.search.ItemSearch;
+import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import com.senior.assessment.domain.repository.ItemRepositoryCustom.NameAndType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Executa EXPLAIN (FORMAT JSON) com os mesmos parâmetros de cada SQL emitido pelos repositórios sobre uma massa
+// de dados realista e falha caso o plano faça Seq Scan em tabela grande ou ultrapasse o custo estimado permitido.
+// Consultas de count de página não entram: contar todas as linhas filtradas é inerentemente uma varredura.
+// A massa é gravada uma única vez para a classe (cada teste roda em transação desfeita ao final) e removida no fim.
+@DataJpaTest
+@Testcontainers
+@Import({AssessmentConfigTest.class, ItemDslPredicate.class, OrderDslPredicate.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanRegressionTest extends PostgreSQLContainerConfig {
+    private static final int SEED_ITEMS = 20_000;
+    private static final int SEED_ORDERS = 20_000;
+    private static final int SEED_LINES_PER_ORDER = 3;
+    private static final Set<String> LARGE_TABLES = Set.of("item", "order", "order_items");
+    // Custos estimados pelo planner (unidades de seq_page_cost)
+    private static final double POINT_QUERY_MAX_COST = 50;
+    private static final double PAGE_QUERY_MAX_COST = 1_000;
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private ItemDslPredicate itemDslPredicate;
+    @Autowired
+    private OrderDslPredicate orderDslPredicate;
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+        @Bean
+        public static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    @BeforeAll
+    public void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO dbo.item (id, name, type, status, price, created_at, updated_at)
+                SELECT uuid_generate_v4(),
+                       'Item ' || g,
+                       CASE WHEN g % 2 = 0 THEN 'PRODUCT' ELSE 'SERVICE' END,
+                       CASE WHEN g % 10 = 0 THEN 'DISABLED' ELSE 'ACTIVE' END,
+                       10 + g % 990,
+                       now(),
+                       now()
+                FROM generate_series(1, ?) g
+                """, SEED_ITEMS);
+        jdbcTemplate.update("""
+                INSERT INTO dbo.order (id, status, discount, total, total_product, total_service, created_at, updated_at)
+                SELECT uuid_generate_v4(),
+                       CASE WHEN g % 5 = 0 THEN 'CLOSED' ELSE 'OPENED' END,
+                       0,
+                       g % 5000,
+                       g % 5000,
+                       0,
+                       now(),
+                       now()
+                FROM generate_series(1, ?) g
+                """, SEED_ORDERS);
+        jdbcTemplate.update("""
+                WITH o AS (SELECT id, ROW_NUMBER() OVER () AS rn FROM dbo.order),
+                     i AS (SELECT id, price, ROW_NUMBER() OVER () AS rn FROM dbo.item)
+                INSERT INTO dbo.order_items (id, order_id, item_id, item_price, amount, created_at, updated_at)
+                SELECT uuid_generate_v4(), o.id, i.id, i.price, 1 + s, now(), now()
+                FROM o
+                         CROSS JOIN generate_series(0, ? - 1) s
+                         JOIN i ON i.rn = (o.rn * 3 + s) % ? + 1
+                """, SEED_LINES_PER_ORDER, SEED_ITEMS);
+        jdbcTemplate.execute("ANALYZE dbo.item, dbo.order, dbo.order_items");
+    }
+
+    @AfterAll
+    public void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE dbo.order_items, dbo.order, dbo.item");
+    }
+
+    @Test
+    void testGivenSeededItems_whenExistsItemById_thenPlanUsesIndex() {
+        var itemId = anyId("item");
+
+        assertPlan(() -> itemRepository.existsItemById(itemId), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededItems_whenExistsItemByNameAndType_thenPlanUsesIndex() {
+        assertPlan(() -> itemRepository.existsItemByNameAndType("Item 42", ItemType.PRODUCT), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededItems_whenExistsItemByNameAndTypeAndIdNot_thenPlanUsesIndex() {
+        var itemId = anyId("item");
+
+        assertPlan(() -> itemRepository.existsItemByNameAndTypeAndIdNot("Item 42", ItemType.PRODUCT, itemId),
+                POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededItems_whenGetAllByIdIn_thenPlanUsesIndex() {
+        var itemsIds = Set.of(anyId("item"), UUID.randomUUID());
+
+        assertPlan(() -> itemRepository.getAllByIdIn(itemsIds), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededItems_whenFindItemById_thenPlanUsesIndex() {
+        var itemId = anyId("item");
+
+        assertPlan(() -> itemRepository.findById(itemId), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenCandidates_whenFindExistingNameAndType_thenPlanUsesIndex() {
+        var candidates = List.of(new NameAndType("Item 42", ItemType.PRODUCT),
+                new NameAndType("Item 43", ItemType.SERVICE),
+                new NameAndType("Teclado", ItemType.PRODUCT));
+
+        assertPlan(() -> itemRepository.findExistingNameAndType(candidates), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenImportStaging_whenMergeImportStaging_thenPlanUsesIndex() {
+        itemRepository.createImportStaging();
+        itemRepository.copyToImportStaging(IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> Item.builder()
+                        .id(UuidV7Generator.randomUuid())
+                        .name("Item " + (i % 2 == 0 ? i : SEED_ITEMS + i))
+                        .type(ItemType.PRODUCT)
+                        .status(ItemStatus.ACTIVE)
+                        .price(BigDecimal.valueOf(50.00))
+                        .build()));
+        jdbcTemplate.execute("ANALYZE item_import");
+
+        assertPlan(() -> itemRepository.mergeImportStaging(LocalDateTime.now()), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenOrderLineDeltas_whenAddOrderLineCounts_thenPlanUsesIndex() {
+        var itemsIds = jdbcTemplate.queryForList("SELECT id FROM dbo.item LIMIT 3", UUID.class);
+        var deltas = Map.of(itemsIds.get(0), 1L, itemsIds.get(1), 2L, itemsIds.get(2), -1L);
+
+        assertPlan(() -> itemRepository.addOrderLineCounts(deltas), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenQuery_whenFindItemPageByDslPredicate_thenPlanUsesIndex() {
+        var predicate = itemDslPredicate.expression(ItemSearch.builder().query("item 4242").build());
+
+        assertPlan(() -> itemRepository.findAll(predicate, PageRequest.of(0, 10, Sort.by("id"))),
+                PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenQuery_whenScrollItemByDslPredicate_thenPlanUsesIndex() {
+        var predicate = itemDslPredicate.expression(ItemSearch.builder().query("item 4242").build());
+
+        assertPlan(() -> itemRepository.findBy(predicate, query -> query.sortBy(Sort.by("id"))
+                .limit(10)
+                .scroll(ScrollPosition.keyset())), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenTypeAndStatus_whenScrollItemByDslPredicate_thenPlanUsesIndex() {
+        var predicate = itemDslPredicate.expression(ItemSearch.builder()
+                .type(ItemType.PRODUCT)
+                .status(ItemStatus.DISABLED)
+                .build());
+
+        assertPlan(() -> itemRepository.findBy(predicate, query -> query.sortBy(Sort.by("id"))
+                .limit(10)
+                .scroll(ScrollPosition.keyset())), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededOrders_whenFindOrderById_thenPlanUsesIndex() {
+        var orderId = anyId("order");
+
+        assertPlan(() -> orderRepository.findById(orderId), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededOrders_whenFindForUpdateById_thenPlanUsesIndex() {
+        var orderId = anyId("order");
+
+        assertPlan(() -> orderRepository.findForUpdateById(orderId), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenOrdersIds_whenUpdateStatusWhereOpened_thenPlanUsesIndex() {
+        var ordersIds = jdbcTemplate.queryForList("SELECT id FROM dbo.order LIMIT 10", UUID.class);
+
+        assertPlan(() -> orderRepository.updateStatusWhereOpened(ordersIds, OrderStatus.CLOSED, LocalDateTime.now()),
+                PAGE_QUERY_MAX_COST);
+    }
+
+    // O UPDATE por busca altera todos os pedidos abertos que atendem ao filtro: só filtros seletivos cabem no limite
+    @Test
+    void testGivenQuery_whenUpdateStatusWhereOpenedBySearch_thenPlanUsesIndex() {
+        var orderSearch = OrderSearch.builder().query("item 4242").build();
+
+        assertPlan(() -> orderRepository.updateStatusWhereOpened(orderSearch, OrderStatus.CLOSED, LocalDateTime.now()),
+                PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenTotalRange_whenUpdateStatusWhereOpenedBySearch_thenPlanUsesIndex() {
+        var orderSearch = OrderSearch.builder()
+                .minTotal(BigDecimal.valueOf(4_000))
+                .maxTotal(BigDecimal.valueOf(4_010))
+                .build();
+
+        assertPlan(() -> orderRepository.updateStatusWhereOpened(orderSearch, OrderStatus.CLOSED, LocalDateTime.now()),
+                PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenTotalRange_whenFindOrderPageByDslPredicate_thenPlanUsesIndex() {
+        var predicate = orderDslPredicate.expression(OrderSearch.builder()
+                .status(OrderStatus.OPENED)
+                .minTotal(BigDecimal.valueOf(4_000))
+                .maxTotal(BigDecimal.valueOf(4_010))
+                .build());
+
+        assertPlan(() -> orderRepository.findAll(predicate, PageRequest.of(0, 10, Sort.by("total"))),
+                PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededOrders_whenUpdateStatus_thenPlanUsesIndex() {
+        var orderId = anyId("order");
+
+        assertPlan(() -> orderRepository.updateStatus(orderId, OrderStatus.OPENED, OrderStatus.CLOSED),
+                POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenTotalRange_whenScrollOrderByDslPredicate_thenPlanUsesIndex() {
+        var predicate = orderDslPredicate.expression(OrderSearch.builder()
+                .status(OrderStatus.OPENED)
+                .minTotal(BigDecimal.valueOf(4_000))
+                .maxTotal(BigDecimal.valueOf(4_100))
+                .build());
+
+        assertPlan(() -> orderRepository.findBy(predicate, query -> query.sortBy(Sort.by("total"))
+                .limit(10)
+                .scroll(ScrollPosition.keyset())), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenOrdersIds_whenFindAllFetchOrderItemsByIdIn_thenPlanUsesIndex() {
+        var ordersIds = jdbcTemplate.queryForList("SELECT id FROM dbo.order LIMIT 10", UUID.class);
+
+        assertPlan(() -> orderRepository.findAllFetchOrderItemsByIdIn(ordersIds), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenItemType_whenScrollOrderByDslPredicate_thenPlanUsesIndex() {
+        var predicate = orderDslPredicate.expression(OrderSearch.builder().itemType(ItemType.SERVICE).build());
+
+        assertPlan(() -> orderRepository.findBy(predicate, query -> query.sortBy(Sort.by("id"))
+                .limit(10)
+                .scroll(ScrollPosition.keyset())), PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededItems_whenDeleteByIdWhereNotLinkedWithOrder_thenPlanUsesIndex() {
+        var itemId = anyId("item");
+
+        assertPlan(() -> itemRepository.deleteByIdWhereNotLinkedWithOrder(itemId), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededItems_whenFindOrderLineCountById_thenPlanUsesIndex() {
+        var itemId = anyId("item");
+
+        assertPlan(() -> itemRepository.findOrderLineCountById(itemId), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededOrderItems_whenExistsOrderItemByOrderId_thenPlanUsesIndex() {
+        var orderId = anyId("order");
+
+        assertPlan(() -> orderItemRepository.existsOrderItemByOrderId(orderId), POINT_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenOrderAndOrderItemsIds_whenFindAllFetchItemByOrderIdAndIdIn_thenPlanUsesIndex() {
+        var orderId = anyId("order");
+        var orderItemsIds = jdbcTemplate.queryForList("SELECT id FROM dbo.order_items WHERE order_id = ?",
+                UUID.class, orderId);
+
+        assertPlan(() -> orderItemRepository.findAllFetchItemByOrderIdAndIdIn(orderId, orderItemsIds),
+                PAGE_QUERY_MAX_COST);
+    }
+
+    @Test
+    void testGivenSeededOrderItems_whenGetAllByIdIn_thenPlanUsesIndex() {
+        var orderItemsIds = Set.copyOf(jdbcTemplate.queryForList("SELECT id FROM dbo.order_items LIMIT 2", UUID.class));
+
+        assertPlan(() -> orderItemRepository.getAllByIdIn(orderItemsIds), POINT_QUERY_MAX_COST);
+    }
+
+    // private methods
+
+    private UUID anyId(String table) {
+        return jdbcTemplate.queryForObject("SELECT id FROM dbo.\"" + table + "\" LIMIT 1", UUID.class);
+    }
+
+    private void assertPlan(Runnable repositoryCall, double maxTotalCost) {
+        statementRecorder.start();
+        List<RecordedStatement> statements;
+        try {
+            repositoryCall.run();
+        } finally {
+            statements = statementRecorder.stop();
+        }
+
+        assertThat(statements).isNotEmpty();
+        for (var statement : statements) {
+            var plan = explain(statement);
+            var nodes = new ArrayList<JsonNode>();
+            collectNodes(plan, nodes);
+
+            assertThat(nodes)
+                    .as("Seq Scan em tabela grande no plano de:%n%s%n%s", statement.sql(), plan.toPrettyString())
+                    .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                            && LARGE_TABLES.contains(node.path("Relation Name").asText()));
+            assertThat(plan.path("Total Cost").asDouble())
+                    .as("Custo estimado acima do limite no plano de:%n%s%n%s", statement.sql(), plan.toPrettyString())
+                    .isLessThanOrEqualTo(maxTotalCost);
+        }
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        var json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (var preparedStatement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                statement.bind(preparedStatement);
+                try (var resultSet = preparedStatement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void collectNodes(JsonNode plan, List<JsonNode> nodes) {
+        nodes.add(plan);
+        plan.path("Plans").forEach(child -> collectNodes(child, nodes));
+    }
+}
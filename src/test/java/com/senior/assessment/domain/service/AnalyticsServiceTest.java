@@ -0,0 +1,124 @@
+package com.senior.assessment.domain.service;
+
+import com.senior.assessment.domain.analytics.SalesAnalytics;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.enums.SalesGrouping;
+import com.senior.assessment.infrastructure.exception.CustomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+    @Mock
+    private SalesAnalytics salesAnalytics;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(analyticsService, "maxPeriodDays", 366);
+    }
+
+    @Test
+    void testGivenNoPeriod_whenGetSales_thenQueryLastThirtyDays() {
+        // Given / Arrange
+        var today = LocalDate.now();
+
+        // When / Act
+        analyticsService.getSales(SalesGrouping.DAY, null, null, null, null);
+
+        // Then / Assert
+        verify(salesAnalytics, times(1))
+                .findSales(SalesGrouping.DAY, today.minusDays(29), today, null, null);
+    }
+
+    @Test
+    void testGivenPeriodAndFilters_whenGetSales_thenQueryWithFilters() {
+        // Given / Arrange
+        var from = LocalDate.of(2024, 3, 1);
+        var to = LocalDate.of(2024, 3, 31);
+
+        // When / Act
+        analyticsService.getSales(SalesGrouping.ITEM, from, to, OrderStatus.CLOSED, ItemType.SERVICE);
+
+        // Then / Assert
+        verify(salesAnalytics, times(1))
+                .findSales(SalesGrouping.ITEM, from, to, OrderStatus.CLOSED, ItemType.SERVICE);
+    }
+
+    @Test
+    void testGivenFromAfterTo_whenGetSales_thenThrowsCustomException() {
+        // Given / Arrange
+        var from = LocalDate.of(2024, 4, 1);
+        var to = LocalDate.of(2024, 3, 1);
+
+        // When / Act
+        var customException = assertThrows(CustomException.class,
+                () -> analyticsService.getSales(SalesGrouping.DAY, from, to, null, null));
+
+        // Then / Assert
+        verify(salesAnalytics, never()).findSales(any(), any(), any(), any(), any());
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals("Invalid period: from 2024-04-01 is after to 2024-03-01.", customException.getMessage());
+    }
+
+    @Test
+    void testGivenGroupByDayAndItemType_whenGetSales_thenThrowsCustomException() {
+        // Given / Arrange
+        var from = LocalDate.of(2024, 3, 1);
+        var to = LocalDate.of(2024, 3, 31);
+
+        // When / Act
+        var customException = assertThrows(CustomException.class,
+                () -> analyticsService.getSales(SalesGrouping.DAY, from, to, null, ItemType.PRODUCT));
+
+        // Then / Assert
+        verify(salesAnalytics, never()).findSales(any(), any(), any(), any(), any());
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals("Invalid filter: itemType requires groupBy ITEM_TYPE or ITEM.", customException.getMessage());
+    }
+
+    @Test
+    void testGivenPeriodLongerThanMax_whenGetSales_thenThrowsCustomException() {
+        // Given / Arrange
+        var from = LocalDate.of(2023, 1, 1);
+        var to = LocalDate.of(2024, 1, 2);
+
+        // When / Act
+        var customException = assertThrows(CustomException.class,
+                () -> analyticsService.getSales(SalesGrouping.ITEM, from, to, null, null));
+
+        // Then / Assert
+        verify(salesAnalytics, never()).findSales(any(), any(), any(), any(), any());
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals("Invalid period: from 2023-01-01 to 2024-01-02 exceeds 366 days.", customException.getMessage());
+    }
+
+    @Test
+    void testGivenPeriodOfMaxDays_whenGetSales_thenQuerySales() {
+        // Given / Arrange
+        var from = LocalDate.of(2024, 1, 1);
+        var to = LocalDate.of(2024, 12, 31);
+
+        // When / Act
+        analyticsService.getSales(SalesGrouping.ITEM, from, to, null, null);
+
+        // Then / Assert
+        verify(salesAnalytics, times(1)).findSales(SalesGrouping.ITEM, from, to, null, null);
+    }
+}
@@ -1,32 +1,48 @@
 package com.senior.assessment.domain.service;
 
 import com.querydsl.core.types.Predicate;
+import com.senior.assessment.domain.cache.ItemCache;
 import com.senior.assessment.domain.entity.Item;
 import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
 import com.senior.assessment.domain.querydsl.ItemDslPredicate;
 import com.senior.assessment.domain.querydsl.search.ItemSearch;
+import com.senior.assessment.domain.ranking.TopSellingItems;
 import com.senior.assessment.domain.repository.ItemRepository;
-import com.senior.assessment.domain.repository.OrderItemRepository;
+import com.senior.assessment.domain.repository.ItemRepositoryCustom.MergeCount;
+import com.senior.assessment.domain.repository.ItemRepositoryCustom.NameAndType;
 import com.senior.assessment.infrastructure.exception.CustomException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,7 +59,13 @@ class ItemServiceTest {
     private ItemDslPredicate itemDslPredicate;
 
     @Mock
-    private OrderItemRepository orderItemRepository;
+    private ItemCache itemCache;
+
+    @Mock
+    private TopSellingItems topSellingItems;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     private ItemService itemService;
@@ -97,6 +119,213 @@ class ItemServiceTest {
         );
     }
 
+    @Test
+    void testGivenUniquenessByConstraint_whenCreateItem_thenSaveAndFlushWithoutPreCheck() {
+        // Given / Arrange
+        ReflectionTestUtils.setField(itemService, "uniquenessByConstraint", true);
+        given(itemRepository.saveAndFlush(originalItem)).willReturn(originalItem);
+
+        // When / Act
+        var savedItem = itemService.createItem(originalItem);
+
+        // Then / Assert
+        verify(itemRepository, never()).existsItemByNameAndType(anyString(), any(ItemType.class));
+        verify(itemRepository, times(1)).saveAndFlush(originalItem);
+        assertEquals(originalItem, savedItem);
+    }
+
+    @Test
+    void testGivenValidInvalidAndDuplicatedItems_whenCreateItems_thenInsertOnlyValidAndReturnResultPerRow() {
+        // Given / Arrange
+        var newItem = Item.builder()
+                .name("Teclado")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(120.00))
+                .build();
+        var invalidItem = Item.builder()
+                .name("Mouse")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.ZERO)
+                .build();
+        var existingItem = Item.builder()
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(50.00))
+                .build();
+        var repeatedItem = Item.builder()
+                .name("Teclado")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(130.00))
+                .build();
+        given(itemRepository.findExistingNameAndType(any()))
+                .willReturn(Set.of(new NameAndType("Ebook", ItemType.PRODUCT)));
+        given(itemRepository.batchInsert(any())).willAnswer(invocation -> {
+            invocation.<List<Item>>getArgument(0).forEach(item -> item.setId(UUID.randomUUID()));
+            return Set.of(newItem.getId());
+        });
+
+        // When / Act
+        var results = itemService.createItems(List.of(newItem, invalidItem, existingItem, repeatedItem));
+
+        // Then / Assert
+        verify(itemRepository, times(1)).batchInsert(List.of(newItem));
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertEquals(newItem.getId(), results.get(0).getId());
+        assertTrue(results.get(0).getErrors().isEmpty());
+        assertFalse(results.get(1).isCreated());
+        assertEquals(List.of("price: min is R$ 00,01."), results.get(1).getErrors());
+        assertFalse(results.get(2).isCreated());
+        assertEquals(List.of("Already item with this name: Ebook, itemType: PRODUCT."), results.get(2).getErrors());
+        assertFalse(results.get(3).isCreated());
+        assertNull(results.get(3).getId());
+        assertEquals(List.of("Already item with this name: Teclado, itemType: PRODUCT."), results.get(3).getErrors());
+    }
+
+    @Test
+    void testGivenConcurrentInsertAndOversizedItems_whenCreateItems_thenReportRowErrors() {
+        // Given / Arrange
+        var newItem = Item.builder()
+                .name("Teclado")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(120.00))
+                .build();
+        var concurrentItem = Item.builder()
+                .name("Mouse")
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(60.00))
+                .build();
+        var longNameItem = Item.builder()
+                .name("M".repeat(256))
+                .type(ItemType.PRODUCT)
+                .price(BigDecimal.valueOf(60.00))
+                .build();
+        var expensiveItem = Item.builder()
+                .name("Servidor")
+                .type(ItemType.PRODUCT)
+                .price(new BigDecimal("123456789.00"))
+                .build();
+        given(itemRepository.findExistingNameAndType(any())).willReturn(Set.of());
+        given(itemRepository.batchInsert(any())).willAnswer(invocation -> {
+            invocation.<List<Item>>getArgument(0).forEach(item -> item.setId(UUID.randomUUID()));
+            return Set.of(newItem.getId());
+        });
+
+        // When / Act
+        var results = itemService.createItems(List.of(newItem, concurrentItem, longNameItem, expensiveItem));
+
+        // Then / Assert
+        verify(itemRepository, times(1)).batchInsert(List.of(newItem, concurrentItem));
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertNull(results.get(1).getId());
+        assertEquals(List.of("Already item with this name: Mouse, itemType: PRODUCT."), results.get(1).getErrors());
+        assertFalse(results.get(2).isCreated());
+        assertEquals(1, results.get(2).getErrors().size());
+        assertTrue(results.get(2).getErrors().get(0).startsWith("name: "));
+        assertFalse(results.get(3).isCreated());
+        assertEquals(1, results.get(3).getErrors().size());
+        assertTrue(results.get(3).getErrors().get(0).startsWith("price: "));
+    }
+
+    @Test
+    void testGivenValidCsv_whenImportItems_thenCopyAndMergeStaging() {
+        // Given / Arrange
+        var csv = """
+                name,type,price,status
+                Teclado,PRODUCT,120.00,ACTIVE
+                "Instalação, configuração",SERVICE,80.50,ACTIVE
+
+                Ebook,PRODUCT,55.00,DISABLED
+                """;
+        given(itemRepository.copyToImportStaging(any())).willAnswer(invocation -> invocation.<Stream<Item>>getArgument(0)
+                .peek(item -> assertNotNull(item.getId()))
+                .count());
+        given(itemRepository.mergeImportStaging(any(LocalDateTime.class))).willReturn(new MergeCount(2, 0));
+
+        // When / Act
+        var result = itemService.importItems(new StringReader(csv));
+
+        // Then / Assert
+        verify(itemRepository, times(1)).createImportStaging();
+        verify(itemCache, times(1)).invalidateAll();
+        assertEquals(3, result.getReceived());
+        assertEquals(0, result.getRejected());
+        assertEquals(2, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    void testGivenCsvWithInvalidLines_whenImportItems_thenReturnErrorsAndNotMerge() {
+        // Given / Arrange
+        var csv = """
+                name,type,price,status
+                Teclado,PRODUCT,120.00,ACTIVE
+                Mouse,PRODUCT,0,ACTIVE
+                Monitor,PRODUCT,abc,ACTIVE
+                Cabo,PRODUCT
+                """;
+        given(itemRepository.copyToImportStaging(any())).willAnswer(invocation -> invocation.<Stream<Item>>getArgument(0)
+                .count());
+
+        // When / Act
+        var result = itemService.importItems(new StringReader(csv));
+
+        // Then / Assert
+        verify(itemRepository, never()).mergeImportStaging(any());
+        verify(itemCache, never()).invalidateAll();
+        assertEquals(4, result.getReceived());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(
+                "line 3: price: min is R$ 00,01.",
+                "line 4: price: invalid number",
+                "line 5: expected 4 columns but found 2"
+        ), result.getErrors());
+    }
+
+    @Test
+    void testGivenCsvWithMultilineFieldAndOversizedValues_whenImportItems_thenReportStartingLines() {
+        // Given / Arrange
+        var csv = "name,type,price,status\n" +
+                "\"Cabo\nHDMI\",PRODUCT,20.00,ACTIVE\n" +
+                "M".repeat(256) + ",PRODUCT,10.00,ACTIVE\n" +
+                "Servidor,PRODUCT,123456789.00,ACTIVE\n";
+        var copiedItems = new ArrayList<Item>();
+        given(itemRepository.copyToImportStaging(any())).willAnswer(invocation -> invocation.<Stream<Item>>getArgument(0)
+                .peek(copiedItems::add)
+                .count());
+
+        // When / Act
+        var result = itemService.importItems(new StringReader(csv));
+
+        // Then / Assert
+        verify(itemRepository, never()).mergeImportStaging(any());
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getRejected());
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("line 4: name: "));
+        assertTrue(result.getErrors().get(1).startsWith("line 5: price: "));
+        assertEquals(1, copiedItems.size());
+        assertEquals("Cabo\nHDMI", copiedItems.get(0).getName());
+    }
+
+    @Test
+    void testGivenCsvWithInvalidHeader_whenImportItems_thenThrowsCustomException() {
+        // Given / Arrange
+        var csv = "nome,tipo,preco,status\nTeclado,PRODUCT,120.00,ACTIVE\n";
+
+        // When / Act
+        var customException = assertThrows(CustomException.class,
+                () -> itemService.importItems(new StringReader(csv)));
+
+        // Then / Assert
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals("Invalid CSV header, expected: name,type,price,status.", customException.getMessage());
+        verify(itemRepository, never()).createImportStaging();
+    }
+
     @Test
     void testGivenItem_whenUpdateItem_thenReturnUpdatedItem() {
         // Given / Arrange
@@ -119,6 +348,7 @@ class ItemServiceTest {
 
         // Then / Assert
         verify(itemRepository, times(1)).save(originalItem);
+        verify(itemCache, times(1)).evict(itemId);
         assertNotNull(updatedItem);
         assertEquals(serviceItem.getName(), updatedItem.getName());
         assertEquals(serviceItem.getType(), updatedItem.getType());
@@ -126,6 +356,33 @@ class ItemServiceTest {
         assertEquals(serviceItem.getStatus(), updatedItem.getStatus());
     }
 
+    @Test
+    void testGivenUniquenessByConstraint_whenUpdateItem_thenSaveAndFlushWithoutPreCheck() {
+        // Given / Arrange
+        ReflectionTestUtils.setField(itemService, "uniquenessByConstraint", true);
+        var itemId = UUID.randomUUID();
+        originalItem.setId(itemId);
+        var serviceItem = Item.builder()
+                .name("Adm. Redes")
+                .type(ItemType.SERVICE)
+                .status(ItemStatus.ACTIVE)
+                .price(BigDecimal.valueOf(100.00))
+                .build();
+
+        given(itemRepository.findById(itemId)).willReturn(Optional.of(originalItem));
+        given(itemRepository.saveAndFlush(originalItem)).willReturn(originalItem);
+
+        // When / Act
+        var updatedItem = itemService.updateItem(itemId, serviceItem);
+
+        // Then / Assert
+        verify(itemRepository, never())
+                .existsItemByNameAndTypeAndIdNot(anyString(), any(ItemType.class), any(UUID.class));
+        verify(itemRepository, times(1)).saveAndFlush(originalItem);
+        verify(itemCache, times(1)).evict(itemId);
+        assertEquals(serviceItem.getName(), updatedItem.getName());
+    }
+
     @Test
     void testGivenExistingItemName_whenUpdateItem_thenThrowsCustomException() {
         // Given / Arrange
@@ -188,7 +445,7 @@ class ItemServiceTest {
     void testGivenItemId_whenGetItemById_thenReturnFoundItem() {
         // Given / Arrange
         var itemId = UUID.randomUUID();
-        given(itemRepository.findById(any(UUID.class))).willReturn(Optional.of(originalItem));
+        given(itemCache.get(any(UUID.class))).willReturn(Optional.of(originalItem));
 
         // When / Act
         var foundItem = itemService.getItemById(itemId);
@@ -203,7 +460,7 @@ class ItemServiceTest {
     void testGivenNonExistsItemId_whenGetItemById_thenThrowsCustomException() {
         // Given / Arrange
         var itemId = UUID.randomUUID();
-        given(itemRepository.findById(any(UUID.class))).willReturn(Optional.empty());
+        given(itemCache.get(any(UUID.class))).willReturn(Optional.empty());
 
         // When / Act
         var customException = assertThrows(CustomException.class, () -> itemService.getItemById(itemId));
@@ -220,27 +477,29 @@ class ItemServiceTest {
     void testGivenItemId_whenDeleteItemById_thenReturnNothing() {
         // Given / Arrange
         var itemId = UUID.randomUUID();
-        given(itemRepository.existsItemById(any(UUID.class))).willReturn(true);
-        given(orderItemRepository.existsOrderItemByItemId(any(UUID.class))).willReturn(false);
+        given(itemRepository.deleteByIdWhereNotLinkedWithOrder(any(UUID.class))).willReturn(1);
 
         // When / Act
         itemService.deleteItemById(itemId);
 
         // Then / Assert
-        verify(itemRepository, times(1)).deleteById(itemId);
+        verify(itemRepository, times(1)).deleteByIdWhereNotLinkedWithOrder(itemId);
+        verify(itemRepository, never()).findOrderLineCountById(itemId);
+        verify(itemCache, times(1)).evict(itemId);
     }
 
     @Test
     void testGivenNonExistingItemId_whenDeleteItemById_thenThrowsCustomException() {
         // Given / Arrange
         var itemId = UUID.randomUUID();
-        given(itemRepository.existsItemById(any(UUID.class))).willReturn(false);
+        given(itemRepository.deleteByIdWhereNotLinkedWithOrder(any(UUID.class))).willReturn(0);
+        given(itemRepository.findOrderLineCountById(any(UUID.class))).willReturn(Optional.empty());
 
         // When / Act
         var customException = assertThrows(CustomException.class, () -> itemService.deleteItemById(itemId));
 
         // Then / Assert
-        verify(itemRepository, never()).deleteById(itemId);
+        verify(itemCache, never()).evict(itemId);
         assertEquals(HttpStatus.NOT_FOUND, customException.getHttpStatus());
         assertEquals(
                 String.format("Cannot found item with id %s.", itemId),
@@ -252,14 +511,14 @@ class ItemServiceTest {
     void testGivenItemIdLinkedWithOrders_whenDeleteItemById_thenThrowsCustomException() {
         // Given / Arrange
         var itemId = UUID.randomUUID();
-        given(itemRepository.existsItemById(any(UUID.class))).willReturn(true);
-        given(orderItemRepository.existsOrderItemByItemId(any(UUID.class))).willReturn(true);
+        given(itemRepository.deleteByIdWhereNotLinkedWithOrder(any(UUID.class))).willReturn(0);
+        given(itemRepository.findOrderLineCountById(any(UUID.class))).willReturn(Optional.of(2L));
 
         // When / Act
         var customException = assertThrows(CustomException.class, () -> itemService.deleteItemById(itemId));
 
         // Then / Assert
-        verify(itemRepository, never()).deleteById(itemId);
+        verify(itemCache, never()).evict(itemId);
         assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
         assertEquals("Cannot delete item because have linked order.", customException.getMessage());
     }
@@ -301,6 +560,62 @@ class ItemServiceTest {
         assertEquals(0, foundItemPage.getTotalElements());
     }
 
+    @Test
+    void testGivenItemSearchAndKeysetPosition_whenGetAllItem_thenReturnFoundItemWindow() {
+        // Given / Arrange
+        var items = createItems();
+        var window = Window.from(items, index -> ScrollPosition.keyset(), true);
+
+        when(itemDslPredicate.expression(any(ItemSearch.class))).thenReturn(mock(Predicate.class));
+        when(itemRepository.<Item, Window<Item>>findBy(any(Predicate.class), any())).thenReturn(window);
+
+        // When / Act
+        var foundItemWindow = itemService.getAllItem(
+                mock(ItemSearch.class), ScrollPosition.keyset(), 2, Sort.by("id")
+        );
+
+        // Then / Assert
+        assertNotNull(foundItemWindow);
+        assertTrue(foundItemWindow.hasNext());
+        assertEquals(2, foundItemWindow.size());
+    }
+
+    @Test
+    void testGivenRanking_whenGetTopSellingItems_thenReturnItemsInRankingOrder() {
+        // Given / Arrange
+        var items = createItems();
+        items.get(0).setId(UUID.randomUUID());
+        items.get(1).setId(UUID.randomUUID());
+        given(topSellingItems.top(2)).willReturn(List.of(
+                new TopSellingItems.ItemUnits(items.get(1).getId(), 9L),
+                new TopSellingItems.ItemUnits(items.get(0).getId(), 4L)
+        ));
+        given(itemCache.getAll(Set.of(items.get(0).getId(), items.get(1).getId()))).willReturn(new HashSet<>(items));
+
+        // When / Act
+        var topSellingItemsDto = itemService.getTopSellingItems(2);
+
+        // Then / Assert
+        assertEquals(2, topSellingItemsDto.size());
+        assertEquals(items.get(1).getId(), topSellingItemsDto.get(0).getItemId());
+        assertEquals("Formatar Computador", topSellingItemsDto.get(0).getName());
+        assertEquals(ItemType.SERVICE, topSellingItemsDto.get(0).getType());
+        assertEquals(9L, topSellingItemsDto.get(0).getUnits());
+        assertEquals(items.get(0).getId(), topSellingItemsDto.get(1).getItemId());
+        assertEquals(4L, topSellingItemsDto.get(1).getUnits());
+    }
+
+    @Test
+    void testGivenLimitOutOfRange_whenGetTopSellingItems_thenThrowsCustomException() {
+        // When / Act
+        var customException = assertThrows(CustomException.class, () -> itemService.getTopSellingItems(101));
+
+        // Then / Assert
+        verifyNoInteractions(topSellingItems);
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals("Limit must be between 1 and 100.", customException.getMessage());
+    }
+
     private List<Item> createItems() {
         return List.of(Item.builder()
                         .name("Ryzen 7")
@@ -1,18 +1,24 @@
 package com.senior.assessment.domain.service;
 
 import com.querydsl.core.types.Predicate;
+import com.senior.assessment.domain.cache.ItemCache;
 import com.senior.assessment.domain.dto.order.OrderStatusChangeDto;
 import com.senior.assessment.domain.entity.Item;
 import com.senior.assessment.domain.entity.Order;
 import com.senior.assessment.domain.entity.OrderItem;
 import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderEventType;
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
 import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.outbox.OrderOutbox;
 import com.senior.assessment.domain.querydsl.OrderDslPredicate;
 import com.senior.assessment.domain.querydsl.search.ItemSearch;
 import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import com.senior.assessment.domain.ranking.TopSellingItems;
 import com.senior.assessment.domain.repository.ItemRepository;
 import com.senior.assessment.domain.repository.OrderItemRepository;
 import com.senior.assessment.domain.repository.OrderRepository;
+import com.senior.assessment.domain.repository.OrderRepositoryCustom;
 import com.senior.assessment.infrastructure.exception.CustomException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +30,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 
 import java.math.BigDecimal;
@@ -34,6 +43,7 @@ import static com.senior.assessment.domain.enums.ItemStatus.DISABLED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -42,6 +52,9 @@ class OrderServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemCache itemCache;
+
     @Mock
     private OrderRepository orderRepository;
 
@@ -49,6 +62,10 @@ class OrderServiceTest {
     private OrderDslPredicate orderDslPredicate;
     @Mock
     private OrderItemRepository orderItemRepository;
+    @Mock
+    private OrderOutbox orderOutbox;
+    @Mock
+    private TopSellingItems topSellingItems;
 
 
     @InjectMocks
@@ -79,8 +96,14 @@ class OrderServiceTest {
     @Test
     void testGivenOrder_whenCreateOrder_thenReturnSavedOrder() {
         // Given / Arrange
-        given(itemRepository.getAllByIdIn(any())).willReturn(items);
-        given(orderRepository.save(any(Order.class))).willReturn(order);
+        var orderId = UUID.randomUUID();
+        given(itemCache.getAll(any())).willReturn(items);
+        given(orderRepository.save(any(Order.class))).willAnswer(invocation -> {
+            Order savedOrder = invocation.getArgument(0);
+            savedOrder.setId(orderId);
+            return savedOrder;
+        });
+        given(itemRepository.addOrderLineCounts(any())).willReturn(Set.of(itemIdOne, itemIdTwo));
         order.setDiscount(0.6);
 
         // When / Act
@@ -88,6 +111,11 @@ class OrderServiceTest {
 
         // Then / Assert
         verify(orderRepository, times(1)).save(order);
+        verify(orderOutbox, times(1)).append(Set.of(orderId), OrderEventType.CREATED);
+        verify(topSellingItems, times(1)).record(Map.of(itemIdOne, 2L, itemIdTwo, 2L));
+        verify(itemRepository, times(1)).addOrderLineCounts(Map.of(itemIdOne, 1L, itemIdTwo, 1L));
+        verify(itemCache, times(1)).evict(itemIdOne);
+        verify(itemCache, times(1)).evict(itemIdTwo);
         assertNotNull(savedOrder);
         assertEquals(0.6, savedOrder.getDiscount());
         assertEquals(2, savedOrder.getOrderItems().size());
@@ -95,6 +123,9 @@ class OrderServiceTest {
             assertNotNull(orderItem.getItemPrice());
             assertNotNull(orderItem.getOrder());
         });
+        assertThat(savedOrder.getTotalProduct()).isEqualByComparingTo("8.00");
+        assertThat(savedOrder.getTotalService()).isEqualByComparingTo("40.00");
+        assertThat(savedOrder.getTotal()).isEqualByComparingTo("48.00");
     }
 
     @Test
@@ -107,7 +138,7 @@ class OrderServiceTest {
                 .map(orderItem -> orderItem.getItem().getId())
                 .collect(Collectors.toSet());
 
-        given(itemRepository.getAllByIdIn(any())).willReturn(items);
+        given(itemCache.getAll(any())).willReturn(items);
 
         // When / Act
         var customException = assertThrows(CustomException.class, () -> orderService.createOrder(order));
@@ -131,7 +162,7 @@ class OrderServiceTest {
                     productsDisabled.add(item.getId());
                 });
 
-        given(itemRepository.getAllByIdIn(any())).willReturn(items);
+        given(itemCache.getAll(any())).willReturn(items);
 
         // When / Act
         var customException = assertThrows(CustomException.class, () -> orderService.createOrder(order));
@@ -156,7 +187,7 @@ class OrderServiceTest {
                 .filter(item -> item.getType() == ItemType.PRODUCT)
                 .forEach(item -> item.setType(ItemType.SERVICE));
 
-        given(itemRepository.getAllByIdIn(any())).willReturn(items);
+        given(itemCache.getAll(any())).willReturn(items);
 
         // When / Act
         var customException = assertThrows(CustomException.class, () -> orderService.createOrder(order));
@@ -170,6 +201,45 @@ class OrderServiceTest {
         );
     }
 
+    @Test
+    void testGivenOrdersWithOneInvalid_whenCreateOrders_thenSaveValidOrdersInOneBatchAndRejectInvalid() {
+        // Given / Arrange
+        var missingItemId = UUID.randomUUID();
+        var orderWithMissingItem = Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder()
+                        .amount(1)
+                        .item(Item.builder().id(missingItemId).build())
+                        .build())))
+                .build();
+        var orderTwo = Order.builder()
+                .orderItems(createOrderItems())
+                .build();
+        given(itemCache.getAll(Set.of(itemIdOne, itemIdTwo, missingItemId))).willReturn(items);
+        given(orderRepository.saveAll(any())).willAnswer(invocation -> {
+            List<Order> savedOrders = invocation.getArgument(0);
+            savedOrders.forEach(savedOrder -> savedOrder.setId(UUID.randomUUID()));
+            return savedOrders;
+        });
+
+        // When / Act
+        var results = orderService.createOrders(List.of(order, orderWithMissingItem, orderTwo));
+
+        // Then / Assert
+        verify(itemCache, times(1)).getAll(any());
+        verify(orderRepository, times(1)).saveAll(List.of(order, orderTwo));
+        verify(orderOutbox, times(1)).append(List.of(order.getId(), orderTwo.getId()), OrderEventType.CREATED);
+        verify(itemRepository, times(1)).addOrderLineCounts(Map.of(itemIdOne, 2L, itemIdTwo, 2L));
+        assertEquals(3, results.size());
+        assertEquals(OrderIntakeStatus.CREATED, results.get(0).getStatus());
+        assertEquals(order.getId(), results.get(0).getOrderId());
+        assertEquals(OrderIntakeStatus.REJECTED, results.get(1).getStatus());
+        assertEquals(HttpStatus.NOT_FOUND.value(), results.get(1).getErrorStatus());
+        assertEquals(String.format("Cannot found items: %s.", Set.of(missingItemId)), results.get(1).getMessage());
+        assertEquals(OrderIntakeStatus.CREATED, results.get(2).getStatus());
+        assertEquals(orderTwo.getId(), results.get(2).getOrderId());
+        assertThat(orderTwo.getTotal()).isEqualByComparingTo("60.00");
+    }
+
     @Test
     void testGivenOrder_whenUpdateOrder_thenReturnUpdatedOrder() {
         // Given / Arrange
@@ -192,16 +262,21 @@ class OrderServiceTest {
         updatedOrderInfo.getOrderItems().get(1).setAmount(10);
 
 
-        given(orderRepository.findById(any(UUID.class))).willReturn(Optional.of(order));
+        given(orderRepository.findForUpdateById(any(UUID.class))).willReturn(Optional.of(order));
         given(orderItemRepository.getAllByIdIn(any())).willReturn(Collections.emptySet());
-        given(itemRepository.getAllByIdIn(any())).willReturn(items);
+        given(itemCache.getAll(any())).willReturn(items);
         given(orderRepository.save(any(Order.class))).willReturn(order);
 
         // When / Act
         var updatedOrder = orderService.updateOrder(orderId, updatedOrderInfo);
 
         // Then / Assert
+        verify(orderRepository, never()).findById(any(UUID.class));
         verify(orderRepository, times(1)).save(order);
+        verify(topSellingItems, times(1)).record(Map.of(
+                updatedOrderInfo.getOrderItems().get(0).getItem().getId(), 3L,
+                updatedOrderInfo.getOrderItems().get(1).getItem().getId(), 8L));
+        verify(itemRepository, never()).addOrderLineCounts(any());
         assertNotNull(updatedOrder);
         assertEquals(0.8, updatedOrder.getDiscount());
         assertEquals(5, updatedOrder.getOrderItems().get(0).getAmount());
@@ -215,7 +290,7 @@ class OrderServiceTest {
         // Given / Arrange
         var orderId = UUID.randomUUID();
 
-        given(orderRepository.findById(any(UUID.class))).willReturn(Optional.empty());
+        given(orderRepository.findForUpdateById(any(UUID.class))).willReturn(Optional.empty());
 
         // When / Act
         var customException = assertThrows(
@@ -234,7 +309,7 @@ class OrderServiceTest {
         var orderId = UUID.randomUUID();
         order.setStatus(OrderStatus.CLOSED);
 
-        given(orderRepository.findById(any(UUID.class))).willReturn(Optional.of(order));
+        given(orderRepository.findForUpdateById(any(UUID.class))).willReturn(Optional.of(order));
 
         // When / Act
         var customException = assertThrows(
@@ -262,7 +337,7 @@ class OrderServiceTest {
                 .orderItems(nonExistingOrderItems)
                 .build();
 
-        given(orderRepository.findById(any(UUID.class))).willReturn(Optional.of(order));
+        given(orderRepository.findForUpdateById(any(UUID.class))).willReturn(Optional.of(order));
         given(orderItemRepository.getAllByIdIn(any())).willReturn(Collections.emptySet());
 
         // When / Act
@@ -292,9 +367,9 @@ class OrderServiceTest {
 
         var orderId = UUID.randomUUID();
 
-        given(orderRepository.findById(any(UUID.class))).willReturn(Optional.of(order));
+        given(orderRepository.findForUpdateById(any(UUID.class))).willReturn(Optional.of(order));
         given(orderItemRepository.getAllByIdIn(any())).willReturn(Collections.emptySet());
-        given(itemRepository.getAllByIdIn(any())).willReturn(items);
+        given(itemCache.getAll(any())).willReturn(items);
 
         // When / Act
         var customException = assertThrows(
@@ -322,9 +397,9 @@ class OrderServiceTest {
 
         var orderId = UUID.randomUUID();
 
-        given(orderRepository.findById(any(UUID.class))).willReturn(Optional.of(order));
+        given(orderRepository.findForUpdateById(any(UUID.class))).willReturn(Optional.of(order));
         given(orderItemRepository.getAllByIdIn(any())).willReturn(Collections.emptySet());
-        given(itemRepository.getAllByIdIn(any())).willReturn(items);
+        given(itemCache.getAll(any())).willReturn(items);
 
         // When / Act
         var customException = assertThrows(
@@ -340,6 +415,131 @@ class OrderServiceTest {
         );
     }
 
+    @Test
+    void testGivenOrderItemsOperations_whenPatchOrderItems_thenWriteOnlyAffectedLinesAndAdjustTotals() {
+        // Given / Arrange
+        var orderId = UUID.randomUUID();
+        var product = findItem(itemIdOne);
+        var service = findItem(itemIdTwo);
+        var productLine = OrderItem.builder().id(UUID.randomUUID()).item(product).itemPrice(product.getPrice())
+                .amount(2).build();
+        var serviceLine = OrderItem.builder().id(UUID.randomUUID()).item(service).itemPrice(service.getPrice())
+                .amount(2).build();
+
+        // Pedido existente: produtos 20.00 com 50% de desconto e serviços 40.00
+        order.setId(orderId);
+        order.setDiscount(0.5);
+        order.setSubtotalProduct(BigDecimal.valueOf(20.00));
+        order.setTotalProduct(BigDecimal.valueOf(10.00));
+        order.setTotalService(BigDecimal.valueOf(40.00));
+        order.setTotal(BigDecimal.valueOf(50.00));
+
+        var addedOrderItems = List.of(OrderItem.builder()
+                .amount(1)
+                .item(Item.builder().id(itemIdTwo).build())
+                .build());
+        var changedAmounts = Map.of(productLine.getId(), 5);
+        var removedOrderItemIds = Set.of(serviceLine.getId());
+
+        given(orderRepository.findForUpdateById(orderId)).willReturn(Optional.of(order));
+        given(orderItemRepository.findAllFetchItemByOrderIdAndIdIn(eq(orderId), any()))
+                .willReturn(Set.of(productLine, serviceLine));
+        given(itemCache.getAll(any())).willReturn(items);
+        given(orderItemRepository.existsOrderItemByOrderId(orderId)).willReturn(true);
+
+        // When / Act
+        var patchedOrder = orderService.patchOrderItems(orderId, addedOrderItems, changedAmounts, removedOrderItemIds);
+
+        // Then / Assert
+        verify(orderItemRepository, times(1)).saveAll(addedOrderItems);
+        verify(orderItemRepository, times(1)).deleteAllByIdInBatch(removedOrderItemIds);
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(topSellingItems, times(1)).record(Map.of(itemIdOne, 3L, itemIdTwo, -1L));
+        verify(itemRepository, never()).addOrderLineCounts(any());
+        assertEquals(5, productLine.getAmount());
+        assertEquals(2, serviceLine.getAmount());
+        assertEquals(order, addedOrderItems.get(0).getOrder());
+        assertThat(addedOrderItems.get(0).getItemPrice()).isEqualByComparingTo(service.getPrice());
+        assertThat(patchedOrder.getSubtotalProduct()).isEqualByComparingTo(BigDecimal.valueOf(50.00));
+        assertThat(patchedOrder.getTotalProduct()).isEqualByComparingTo(BigDecimal.valueOf(25.00));
+        assertThat(patchedOrder.getTotalService()).isEqualByComparingTo(BigDecimal.valueOf(20.00));
+        assertThat(patchedOrder.getTotal()).isEqualByComparingTo(BigDecimal.valueOf(45.00));
+    }
+
+    @Test
+    void testGivenOrderIdClosed_whenPatchOrderItems_thenThrowsCustomException() {
+        // Given / Arrange
+        var orderId = UUID.randomUUID();
+        order.setId(orderId);
+        order.setStatus(OrderStatus.CLOSED);
+        var removedOrderItemIds = Set.of(UUID.randomUUID());
+
+        given(orderRepository.findForUpdateById(orderId)).willReturn(Optional.of(order));
+
+        // When / Act
+        var customException = assertThrows(CustomException.class, () -> orderService.patchOrderItems(
+                orderId, Collections.emptyList(), Collections.emptyMap(), removedOrderItemIds));
+
+        // Then / Assert
+        verify(orderItemRepository, never()).deleteAllByIdInBatch(any());
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals(
+                String.format("Cannot edit order because is %s.", OrderStatus.CLOSED),
+                customException.getMessage()
+        );
+    }
+
+    @Test
+    void testGivenOrderItemIdFromOtherOrder_whenPatchOrderItems_thenThrowsCustomException() {
+        // Given / Arrange
+        var orderId = UUID.randomUUID();
+        var orderItemId = UUID.randomUUID();
+        order.setId(orderId);
+
+        given(orderRepository.findForUpdateById(orderId)).willReturn(Optional.of(order));
+        given(orderItemRepository.findAllFetchItemByOrderIdAndIdIn(eq(orderId), any())).willReturn(Set.of());
+
+        // When / Act
+        var customException = assertThrows(CustomException.class, () -> orderService.patchOrderItems(
+                orderId, Collections.emptyList(), Map.of(orderItemId, 3), Collections.emptySet()));
+
+        // Then / Assert
+        assertEquals(HttpStatus.NOT_FOUND, customException.getHttpStatus());
+        assertEquals(
+                String.format("Cannot found order items: %s.", Set.of(orderItemId)),
+                customException.getMessage()
+        );
+    }
+
+    @Test
+    void testGivenOrderWithDiscountAndRemovedProductLine_whenPatchOrderItems_thenThrowsCustomException() {
+        // Given / Arrange
+        var orderId = UUID.randomUUID();
+        var product = findItem(itemIdOne);
+        var productLine = OrderItem.builder().id(UUID.randomUUID()).item(product).itemPrice(product.getPrice())
+                .amount(2).build();
+        order.setId(orderId);
+        order.setDiscount(0.5);
+        order.setSubtotalProduct(BigDecimal.valueOf(20.00));
+        var removedOrderItemIds = Set.of(productLine.getId());
+
+        given(orderRepository.findForUpdateById(orderId)).willReturn(Optional.of(order));
+        given(orderItemRepository.findAllFetchItemByOrderIdAndIdIn(eq(orderId), any()))
+                .willReturn(Set.of(productLine));
+        given(orderItemRepository.existsOrderItemByOrderId(orderId)).willReturn(true);
+
+        // When / Act
+        var customException = assertThrows(CustomException.class, () -> orderService.patchOrderItems(
+                orderId, Collections.emptyList(), Collections.emptyMap(), removedOrderItemIds));
+
+        // Then / Assert
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals(
+                String.format("Cannot apply discount in order because not contain item %s.", ItemType.PRODUCT),
+                customException.getMessage()
+        );
+    }
+
     @Test
     void testGivenOrderId_whenDeleteOrderById_thenReturnNothing() {
         // Given / Arrange
@@ -353,6 +553,8 @@ class OrderServiceTest {
 
         // Then / Assert
         verify(orderRepository, times(1)).deleteById(orderId);
+        verify(topSellingItems, times(1)).record(Map.of(itemIdOne, -2L, itemIdTwo, -2L));
+        verify(itemRepository, times(1)).addOrderLineCounts(Map.of(itemIdOne, -1L, itemIdTwo, -1L));
     }
 
     @Test
@@ -443,13 +645,15 @@ class OrderServiceTest {
         order.setId(orderId);
         var newOrderStatus = OrderStatus.CLOSED;
 
-        given(orderRepository.findById(any(UUID.class))).willReturn(Optional.of(order));
+        given(orderRepository.updateStatus(orderId, OrderStatus.OPENED, newOrderStatus)).willReturn(1);
 
         // When / Act
         orderService.updateStatus(orderId, newOrderStatus);
 
         // Then / Assert
-        verify(orderRepository, times(1)).updateStatus(orderId, newOrderStatus);
+        verify(orderRepository, times(1)).updateStatus(orderId, OrderStatus.OPENED, newOrderStatus);
+        verify(orderRepository, never()).findById(any(UUID.class));
+        verify(orderOutbox, times(1)).append(Set.of(orderId), OrderEventType.CLOSED);
     }
 
     @Test
@@ -458,6 +662,7 @@ class OrderServiceTest {
         var orderId = UUID.randomUUID();
         var newOrderStatus = OrderStatus.CLOSED;
 
+        given(orderRepository.updateStatus(orderId, OrderStatus.OPENED, newOrderStatus)).willReturn(0);
         given(orderRepository.findById(any(UUID.class))).willReturn(Optional.empty());
 
         // When / Act
@@ -466,7 +671,7 @@ class OrderServiceTest {
         );
 
         // Then / Assert
-        verify(orderRepository, never()).updateStatus(orderId, newOrderStatus);
+        verify(orderRepository, times(1)).updateStatus(orderId, OrderStatus.OPENED, newOrderStatus);
         assertEquals(HttpStatus.NOT_FOUND, customException.getHttpStatus());
         assertEquals(
                 String.format("Cannot found order with id %s.", orderId),
@@ -482,6 +687,7 @@ class OrderServiceTest {
         order.setStatus(OrderStatus.CLOSED);
         var newOrderStatus = OrderStatus.CLOSED;
 
+        given(orderRepository.updateStatus(orderId, OrderStatus.OPENED, newOrderStatus)).willReturn(0);
         given(orderRepository.findById(any(UUID.class))).willReturn(Optional.of(order));
 
         // When / Act
@@ -490,7 +696,7 @@ class OrderServiceTest {
         );
 
         // Then / Assert
-        verify(orderRepository, never()).updateStatus(orderId, newOrderStatus);
+        verify(orderRepository, times(1)).updateStatus(orderId, OrderStatus.OPENED, newOrderStatus);
         assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
         assertEquals(
                 String.format("Order %s already %s.", order.getId(), OrderStatus.CLOSED),
@@ -498,6 +704,65 @@ class OrderServiceTest {
         );
     }
 
+    @Test
+    void testGivenOrderIds_whenUpdateStatus_thenReturnTransitionedSkippedAndMissingIds() {
+        // Given / Arrange
+        var openedId = UUID.randomUUID();
+        var closedId = UUID.randomUUID();
+        var missingId = UUID.randomUUID();
+        var orderIds = Set.of(openedId, closedId, missingId);
+
+        given(orderRepository.updateStatusWhereOpened(eq(orderIds), eq(OrderStatus.CLOSED), any()))
+                .willReturn(new OrderRepositoryCustom.StatusChange(Set.of(openedId), Set.of(closedId)));
+
+        // When / Act
+        var result = orderService.updateStatus(orderIds, OrderStatus.CLOSED);
+
+        // Then / Assert
+        verify(orderRepository, never()).findById(any(UUID.class));
+        verify(orderOutbox, times(1)).append(Set.of(openedId), OrderEventType.CLOSED);
+        assertEquals(Set.of(openedId), result.getTransitioned());
+        assertEquals(Set.of(closedId), result.getSkipped());
+        assertEquals(Set.of(missingId), result.getMissing());
+    }
+
+    @Test
+    void testGivenOrderSearch_whenUpdateStatus_thenUpdateOpenedOrdersFound() {
+        // Given / Arrange
+        var orderId = UUID.randomUUID();
+        var orderSearch = OrderSearch.builder().itemType(ItemType.SERVICE).build();
+
+        when(orderRepository.updateStatusWhereOpened(eq(orderSearch), eq(OrderStatus.CLOSED), any()))
+                .thenReturn(Set.of(orderId));
+
+        // When / Act
+        var result = orderService.updateStatus(orderSearch, OrderStatus.CLOSED);
+
+        // Then / Assert
+        verify(orderOutbox, times(1)).append(Set.of(orderId), OrderEventType.CLOSED);
+        verify(orderDslPredicate, never()).expression(any());
+        assertEquals(Set.of(orderId), result.getTransitioned());
+        assertThat(result.getSkipped()).isEmpty();
+        assertThat(result.getMissing()).isEmpty();
+    }
+
+    @Test
+    void testGivenOrderSearchWithoutFilters_whenUpdateStatus_thenThrowsCustomException() {
+        // Given / Arrange
+        var orderSearch = OrderSearch.builder().query(" ").build();
+
+        // When / Act
+        var customException = assertThrows(
+                CustomException.class, () -> orderService.updateStatus(orderSearch, OrderStatus.CLOSED)
+        );
+
+        // Then / Assert
+        verify(orderRepository, never()).updateStatusWhereOpened(any(OrderSearch.class), any(), any());
+        verify(orderOutbox, never()).append(any(), any());
+        assertEquals(HttpStatus.BAD_REQUEST, customException.getHttpStatus());
+        assertEquals("Required at least one search filter.", customException.getMessage());
+    }
+
     @Test
     void testGivenEmptyOrderSearchAndPaginationDefault_whenGetAllOrder_thenReturnFoundOrderPage() {
         // Given / Arrange
@@ -514,6 +779,9 @@ class OrderServiceTest {
         assertNotNull(foundOrderPage);
         assertEquals(1, foundOrderPage.getTotalPages());
         assertEquals(2, foundOrderPage.getTotalElements());
+        verify(orderRepository, times(1)).findAllFetchOrderItemsByIdIn(
+                orders.stream().map(Order::getId).toList()
+        );
     }
 
     @Test
@@ -531,6 +799,27 @@ class OrderServiceTest {
         assertNotNull(foundOrderPage);
         assertEquals(0, foundOrderPage.getTotalPages());
         assertEquals(0, foundOrderPage.getTotalElements());
+        verify(orderRepository, never()).findAllFetchOrderItemsByIdIn(any());
+    }
+
+    @Test
+    void testGivenOrderSearchAndKeysetPosition_whenGetAllOrder_thenReturnFoundOrderWindow() {
+        // Given / Arrange
+        var orders = createOrders();
+        var window = Window.from(orders, index -> ScrollPosition.keyset(), true);
+
+        when(orderDslPredicate.expression(any(OrderSearch.class))).thenReturn(mock(Predicate.class));
+        when(orderRepository.<Order, Window<Order>>findBy(any(Predicate.class), any())).thenReturn(window);
+
+        // When / Act
+        var foundOrderWindow = orderService.getAllOrder(
+                mock(OrderSearch.class), ScrollPosition.keyset(), 2, Sort.by("id")
+        );
+
+        // Then / Assert
+        assertNotNull(foundOrderWindow);
+        assertTrue(foundOrderWindow.hasNext());
+        assertEquals(2, foundOrderWindow.size());
     }
 
     private Set<Item> createItems() {
@@ -549,6 +838,13 @@ class OrderServiceTest {
         return Set.of(itemOne, itemTwo);
     }
 
+    private Item findItem(UUID itemId) {
+        return items.stream()
+                .filter(item -> item.getId().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+    }
+
     private Set<Item> createItemsToOrder() {
         var itemOne = Item.builder()
                 .id(itemIdOne)
@@ -3,6 +3,7 @@ package com.senior.assessment.integration;
 import com.senior.assessment.domain.config.PostgreSQLContainerConfig;
 import com.senior.assessment.domain.config.integration.IntegrationTestBase;
 import com.senior.assessment.domain.dto.PageResult;
+import com.senior.assessment.domain.dto.SliceResult;
 import com.senior.assessment.domain.dto.item.ItemCreateUpdateDto;
 import com.senior.assessment.domain.dto.item.ItemDetailDto;
 import com.senior.assessment.domain.enums.ItemStatus;
@@ -322,6 +323,69 @@ public class ItemControllerIntegrationTest extends IntegrationTestBase {
                 });
     }
 
+    @Test
+    @Order(8)
+    void testGivenCursorAndOneItemPerPage_whenGetAllItemAfter_thenReturn200AndSliceResultItemDetailDto() {
+        SliceResult<ItemDetailDto> firstSlice = given()
+                .spec(requestSpecification)
+                .queryParam("after", "")
+                .queryParam("itemsPerPage", 1)
+                .queryParam("sortName", "name")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(new TypeRef<>() {
+                });
+
+        assertNotNull(firstSlice);
+        assertThat(firstSlice.isHasNext()).isTrue();
+        assertNotNull(firstSlice.getNextCursor());
+        assertEquals(1, firstSlice.getResult().size());
+
+        SliceResult<ItemDetailDto> lastSlice = given()
+                .spec(requestSpecification)
+                .queryParam("after", firstSlice.getNextCursor())
+                .queryParam("itemsPerPage", 1)
+                .queryParam("sortName", "name")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(new TypeRef<>() {
+                });
+
+        assertNotNull(lastSlice);
+        assertThat(lastSlice.isHasNext()).isFalse();
+        assertEquals(1, lastSlice.getResult().size());
+        assertThat(lastSlice.getResult().get(0).getId()).isNotEqualTo(firstSlice.getResult().get(0).getId());
+    }
+
+    @Test
+    @Order(8)
+    void testGivenItemStatusAndCsvFormat_whenExportItem_thenReturn200AndCsvLines() {
+        var csv = given()
+                .spec(requestSpecification)
+                .queryParam("status", ItemStatus.DISABLED)
+                .queryParam("format", "CSV")
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(200)
+                .contentType("text/csv")
+                .extract()
+                .asString();
+
+        var lines = csv.lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals("id,name,type,status,price,created_at,updated_at", lines.get(0));
+        lines.stream().skip(1).forEach(line -> assertThat(line).contains(",DISABLED,"));
+    }
+
     @Test
     @Order(9)
     void testGivenItemId_whenDeleteItemById_thenReturn204NoContent() {
@@ -9,8 +9,11 @@ import com.senior.assessment.domain.dto.order.OrderStatusChangeDto;
 import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
 import com.senior.assessment.domain.dto.order.createupdate.OrderItemDto;
 import com.senior.assessment.domain.dto.order.detailslist.OrderDetailDto;
+import com.senior.assessment.domain.dto.order.intake.OrderIntakeDto;
+import com.senior.assessment.domain.dto.order.patch.OrderItemsPatchDto;
 import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
 import com.senior.assessment.domain.enums.OrderStatus;
 import com.senior.assessment.infrastructure.ErrorResponse;
 import io.restassured.builder.RequestSpecBuilder;
@@ -27,6 +30,8 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.senior.assessment.domain.config.ServerConfigTest.CONTENT_TYPE_JSON;
@@ -314,6 +319,28 @@ public class OrderControllerIntegrationTest extends IntegrationTestBase {
         assertEquals(1, pageResult.getTotalPages());
         assertEquals(2, pageResult.getTotalResults());
     }
+    @Test
+    @Order(9)
+    void testGivenMinTotalAndSortByTotal_whenGetAllOrder_thenReturn200AndPageResultOrderDetailDto() {
+        PageResult<OrderDetailDto> pageResult = given()
+                .spec(requestSpecification)
+                .param("minTotal", "600.00")
+                .param("sortName", "total")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(new TypeRef<>() {
+                });
+
+        assertNotNull(pageResult);
+        assertEquals(1, pageResult.getTotalResults());
+        assertEquals(orderTwoId, pageResult.getResult().get(0).getId());
+        assertThat(pageResult.getResult().get(0).getTotal()).isEqualByComparingTo("1000.00");
+    }
+
     @Test
     @Order(10)
     void testGivenInvalidOrderCreateUpdateDto_whenCreateOrder_thenReturn400AndErrorResponse() {
@@ -436,6 +463,54 @@ public class OrderControllerIntegrationTest extends IntegrationTestBase {
     }
 
 
+    @Test
+    @Order(14)
+    void testGivenOrderItemsPatchDto_whenPatchOrderItems_thenReturn200AndOrderDetailDto() {
+        var orderDetailDto = given()
+                .spec(requestSpecification)
+                .when()
+                .get("/{orderId}", orderTwoId)
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(OrderDetailDto.class);
+
+        var productLine = orderDetailDto.getOrderItems().stream()
+                .filter(orderItem -> orderItem.getItem().getType() == ItemType.PRODUCT)
+                .findFirst()
+                .orElseThrow();
+        var serviceLine = orderDetailDto.getOrderItems().stream()
+                .filter(orderItem -> orderItem.getItem().getType() == ItemType.SERVICE)
+                .findFirst()
+                .orElseThrow();
+        var orderItemsPatch = new OrderItemsPatchDto(
+                List.of(new OrderItemsPatchDto.OrderItemAddDto(new OrderItemDto.ItemDto(serviceLine.getItem().getId()), 1)),
+                Map.of(productLine.getId(), 3),
+                Set.of(serviceLine.getId())
+        );
+
+        var patchedOrderDetailDto = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE_JSON)
+                .body(orderItemsPatch)
+                .when()
+                .patch("/{orderId}/items", orderTwoId)
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(OrderDetailDto.class);
+
+        assertNotNull(patchedOrderDetailDto);
+        assertThat(patchedOrderDetailDto.getTotal()).isEqualByComparingTo("500.00");
+        assertThat(patchedOrderDetailDto.getTotalProduct()).isEqualByComparingTo("300.00");
+        assertThat(patchedOrderDetailDto.getTotalService()).isEqualByComparingTo("200.00");
+        assertEquals(2, patchedOrderDetailDto.getOrderItems().size());
+        assertThat(patchedOrderDetailDto.getOrderItems())
+                .noneMatch(orderItem -> orderItem.getId().equals(serviceLine.getId()));
+    }
+
     @Test
     @Order(15)
     void testGivenItemIdLinkedWithOrder_whenDeleteItemById_thenReturn400AndErrorResponse() {
@@ -476,6 +551,101 @@ public class OrderControllerIntegrationTest extends IntegrationTestBase {
                 .statusCode(204);
     }
 
+    @Test
+    @Order(17)
+    void testGivenSameIdempotencyKey_whenCreateOrderTwice_thenReturnStoredOrderAndRejectDifferentBody() {
+        var idempotencyKey = UUID.randomUUID().toString();
+        var orderCreateUpdateDto = getOrderWithProductAndService();
+
+        var orderDetailDto = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE_JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .body(orderCreateUpdateDto)
+                .when()
+                .post()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(OrderDetailDto.class);
+
+        var replayedOrderDetailDto = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE_JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .body(orderCreateUpdateDto)
+                .when()
+                .post()
+                .then()
+                .statusCode(200)
+                .header("Idempotent-Replayed", "true")
+                .extract()
+                .body()
+                .as(OrderDetailDto.class);
+
+        orderCreateUpdateDto.setDiscount(10);
+        var errorResponse = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE_JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .body(orderCreateUpdateDto)
+                .when()
+                .post()
+                .then()
+                .statusCode(422)
+                .extract()
+                .body()
+                .as(ErrorResponse.class);
+
+        assertEquals(orderDetailDto.getId(), replayedOrderDetailDto.getId());
+        assertThat(replayedOrderDetailDto.getTotal()).isEqualByComparingTo(orderDetailDto.getTotal());
+        assertEquals(String.format("Idempotency-Key '%s' was already used with a different request", idempotencyKey),
+                errorResponse.getMessage());
+    }
+
+    @Test
+    @Order(18)
+    void testGivenOrderCreateUpdateDto_whenIntakeOrder_thenReturn202AndHandleResolvesToCreatedOrder() {
+        var orderIntakeDto = given()
+                .spec(requestSpecification)
+                .contentType(CONTENT_TYPE_JSON)
+                .body(getOrderWithProductAndService())
+                .when()
+                .post("/intake")
+                .then()
+                .statusCode(202)
+                .extract()
+                .body()
+                .as(OrderIntakeDto.class);
+
+        assertEquals(OrderIntakeStatus.PENDING, orderIntakeDto.getStatus());
+        var createdOrderIntakeDto = orderIntakeDto;
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (createdOrderIntakeDto.getStatus() == OrderIntakeStatus.PENDING && System.currentTimeMillis() < deadline)
+            createdOrderIntakeDto = given()
+                    .spec(requestSpecification)
+                    .when()
+                    .get("/intake/{handle}", orderIntakeDto.getHandle())
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .body()
+                    .as(OrderIntakeDto.class);
+
+        assertEquals(OrderIntakeStatus.CREATED, createdOrderIntakeDto.getStatus());
+        var orderDetailDto = given()
+                .spec(requestSpecification)
+                .when()
+                .get("/{orderId}", createdOrderIntakeDto.getOrderId())
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(OrderDetailDto.class);
+        assertEquals(2, orderDetailDto.getOrderItems().size());
+    }
+
     private OrderCreateUpdateDto getOrderWithProductAndService() {
         var productActive = itemsDetailDto.stream()
                 .filter(itemDetailDto -> itemDetailDto.getType() == ItemType.PRODUCT &&
@@ -0,0 +1,106 @@
+package com.senior.assessment.rest;
+
+import com.senior.assessment.domain.config.AssessmentConfigTest;
+import com.senior.assessment.domain.dto.analytics.SalesDto;
+import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.enums.SalesGrouping;
+import com.senior.assessment.domain.service.AnalyticsService;
+import com.senior.assessment.infrastructure.GlobalExceptionHandler;
+import com.senior.assessment.infrastructure.exception.CustomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AnalyticsController.class)
+@Import(AssessmentConfigTest.class)
+@MockBean(JpaMetamodelMappingContext.class)
+public class AnalyticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private AnalyticsController analyticsController;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(analyticsController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testGivenGroupByItemTypeAndPeriod_whenGetSales_thenReturn200AndSalesByItemType() throws Exception {
+        // Given / Arrange
+        var from = LocalDate.of(2024, 3, 1);
+        var to = LocalDate.of(2024, 3, 31);
+        given(analyticsService.getSales(SalesGrouping.ITEM_TYPE, from, to, OrderStatus.CLOSED, null))
+                .willReturn(List.of(SalesDto.builder()
+                        .day(from)
+                        .status(OrderStatus.CLOSED)
+                        .itemType(ItemType.PRODUCT)
+                        .orders(2)
+                        .units(5)
+                        .revenue(BigDecimal.valueOf(250.00))
+                        .build()));
+
+        // When / Act
+        var response = mockMvc.perform(get("/analytics/sales")
+                .param("groupBy", "ITEM_TYPE")
+                .param("from", "2024-03-01")
+                .param("to", "2024-03-31")
+                .param("status", "CLOSED")
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].status").value("CLOSED"))
+                .andExpect(jsonPath("$[0].itemType").value("PRODUCT"))
+                .andExpect(jsonPath("$[0].orders").value(2))
+                .andExpect(jsonPath("$[0].units").value(5))
+                .andExpect(jsonPath("$[0].revenue").value(250.00));
+    }
+
+    @Test
+    void testGivenFromAfterTo_whenGetSales_thenReturn400AndErrorResponse() throws Exception {
+        // Given / Arrange
+        given(analyticsService.getSales(eq(SalesGrouping.DAY), any(), any(), isNull(), isNull()))
+                .willThrow(CustomException.builder()
+                        .httpStatus(HttpStatus.BAD_REQUEST)
+                        .message("Invalid period: from 2024-04-01 is after to 2024-03-01.")
+                        .build());
+
+        // When / Act
+        var response = mockMvc.perform(get("/analytics/sales")
+                .param("from", "2024-04-01")
+                .param("to", "2024-03-01")
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid period: from 2024-04-01 is after to 2024-03-01."));
+    }
+}
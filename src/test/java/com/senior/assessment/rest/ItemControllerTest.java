@@ -4,42 +4,63 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.senior.assessment.config.mapper.ModelMapperService;
 import com.senior.assessment.domain.config.AssessmentConfigTest;
 import com.senior.assessment.domain.dto.PageResult;
+import com.senior.assessment.domain.dto.SliceResult;
+import com.senior.assessment.domain.dto.item.ItemBulkResultDto;
 import com.senior.assessment.domain.dto.item.ItemCreateUpdateDto;
 import com.senior.assessment.domain.dto.item.ItemDetailDto;
+import com.senior.assessment.domain.dto.item.ItemImportResultDto;
+import com.senior.assessment.domain.dto.item.TopSellingItemDto;
 import com.senior.assessment.domain.entity.Item;
+import com.senior.assessment.domain.enums.ExportFormat;
 import com.senior.assessment.domain.enums.ItemStatus;
 import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.idempotency.IdempotencyService;
 import com.senior.assessment.domain.querydsl.search.ItemSearch;
+import com.senior.assessment.domain.service.ExportService;
 import com.senior.assessment.domain.service.ItemService;
 import com.senior.assessment.infrastructure.GlobalExceptionHandler;
 import com.senior.assessment.infrastructure.exception.CustomException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+import org.postgresql.util.ServerErrorMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
 @Import(AssessmentConfigTest.class)
@@ -57,6 +78,12 @@ public class ItemControllerTest {
     @MockBean
     private ModelMapperService modelMapperService;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ModelMapper modelMapper;
 
@@ -68,6 +95,33 @@ public class ItemControllerTest {
         mockMvc = MockMvcBuilders.standaloneSetup(itemController)
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
+        // Sem chave gravada a operação é executada normalmente
+        given(idempotencyService.execute(anyString(), any(), any(), any(), any()))
+                .willAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
+    }
+
+    @Test
+    void testGivenLimit_whenGetTopSellingItems_thenReturn200AndTopSellingItems() throws Exception {
+        // Given / Arrange
+        var itemId = UUID.randomUUID();
+        given(itemService.getTopSellingItems(5)).willReturn(List.of(TopSellingItemDto.builder()
+                .itemId(itemId)
+                .name("Ebook")
+                .type(ItemType.PRODUCT)
+                .units(42)
+                .build()));
+
+        // When / Act
+        var response = mockMvc.perform(get("/items/top-sellers")
+                .param("limit", "5")
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].itemId").value(itemId.toString()))
+                .andExpect(jsonPath("$[0].name").value("Ebook"))
+                .andExpect(jsonPath("$[0].units").value(42));
     }
 
     @Test
@@ -121,6 +175,138 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.errors.*").isNotEmpty());
     }
 
+    @Test
+    void testGivenUniqueNameByTypeViolation_whenCreateItem_thenReturn400AndErrorResponse() throws Exception {
+        // Given / Arrange
+        var itemCreateDto = ItemCreateUpdateDto.builder()
+                .name("Ebook, Volume 1")
+                .type(ItemType.PRODUCT)
+                .status(ItemStatus.ACTIVE)
+                .price(BigDecimal.valueOf(50.00))
+                .build();
+        var uniqueViolation = new PSQLException(new ServerErrorMessage(
+                "SERROR\0C23505\0Mduplicate key value violates unique constraint \"item_unique_name_by_type\"\0" +
+                        "DKey (name, type)=(Ebook, Volume 1, PRODUCT) already exists.\0nitem_unique_name_by_type\0"));
+
+        given(modelMapperService.toObject(eq(Item.class), any(ItemCreateUpdateDto.class)))
+                .willReturn(modelMapper.map(itemCreateDto, Item.class));
+        given(itemService.createItem(any(Item.class)))
+                .willThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement", uniqueViolation,
+                                "item_unique_name_by_type")));
+
+        // When / Act
+        var response = mockMvc.perform(post("/items")
+                .content(objectMapper.writeValueAsString(itemCreateDto))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message")
+                        .value("Already item with this name: Ebook, Volume 1, itemType: PRODUCT."));
+    }
+
+    @Test
+    void testGivenDriverExceptionWithoutWrapper_whenImportCsv_thenReturn400AndDriverMessage() throws Exception {
+        // Given / Arrange
+        var csv = "name,type,price,status\nTeclado,PRODUCT,120.00,ACTIVE\n";
+        given(itemService.importItems(any(Reader.class)))
+                .willThrow(new DataIntegrityViolationException("COPY item_import failed",
+                        new PSQLException("ERROR: value too long for type character varying(255)",
+                                PSQLState.DATA_ERROR)));
+
+        // When / Act
+        var response = mockMvc.perform(post("/items/import")
+                .content(csv)
+                .contentType("text/csv")
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("ERROR: value too long for type character varying(255)"));
+    }
+
+    @Test
+    void testGivenItemCreateUpdateDtoList_whenCreateBulk_thenReturn200AndResultPerRow() throws Exception {
+        // Given / Arrange
+        var itemsCreateDto = List.of(
+                ItemCreateUpdateDto.builder()
+                        .name("Ebook")
+                        .type(ItemType.PRODUCT)
+                        .price(BigDecimal.valueOf(50.00))
+                        .status(ItemStatus.ACTIVE)
+                        .build(),
+                new ItemCreateUpdateDto()
+        );
+        var itemId = UUID.randomUUID();
+        given(modelMapperService.toObject(eq(Item.class), any(ItemCreateUpdateDto.class))).willReturn(new Item());
+        given(itemService.createItems(anyList())).willReturn(List.of(
+                ItemBulkResultDto.builder().index(0).id(itemId).created(true).build(),
+                ItemBulkResultDto.builder().index(1).errors(List.of("name: must not be null")).build()
+        ));
+
+        // When / Act
+        var response = mockMvc.perform(post("/items/bulk")
+                .content(objectMapper.writeValueAsString(itemsCreateDto))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(itemId.toString()))
+                .andExpect(jsonPath("$[0].created").value(true))
+                .andExpect(jsonPath("$[1].created").value(false))
+                .andExpect(jsonPath("$[1].errors[0]").value("name: must not be null"));
+        verify(itemService).createItems(anyList());
+    }
+
+    @Test
+    void testGivenCsv_whenImportCsv_thenReturn200AndItemImportResultDto() throws Exception {
+        // Given / Arrange
+        var csv = "name,type,price,status\nTeclado,PRODUCT,120.00,ACTIVE\n";
+        given(itemService.importItems(any(Reader.class))).willReturn(ItemImportResultDto.builder()
+                .received(1)
+                .inserted(1)
+                .build());
+
+        // When / Act
+        var response = mockMvc.perform(post("/items/import")
+                .content(csv)
+                .contentType("text/csv")
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.rejected").value(0));
+    }
+
+    @Test
+    void testGivenCsvWithInvalidLines_whenImportCsv_thenReturn400AndItemImportResultDto() throws Exception {
+        // Given / Arrange
+        var csv = "name,type,price,status\nTeclado,PRODUCT,0,ACTIVE\n";
+        given(itemService.importItems(any(Reader.class))).willReturn(ItemImportResultDto.builder()
+                .received(1)
+                .rejected(1)
+                .errors(List.of("line 2: price: min is R$ 00,01."))
+                .build());
+
+        // When / Act
+        var response = mockMvc.perform(post("/items/import")
+                .content(csv)
+                .contentType("text/csv")
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("line 2: price: min is R$ 00,01."));
+    }
+
     @Test
     void testGivenItemCreateUpdateDto_whenUpdateItem_thenReturn200AndItemDetailDto() throws Exception {
         // Given / Arrange
@@ -316,6 +502,138 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.result").isEmpty());
     }
 
+    @Test
+    void testGivenCountFalse_whenGetAllItemSlice_thenReturn200AndSliceResultWithoutTotals() throws Exception {
+        // Given / Arrange
+        var items = createItems();
+        var window = Window.from(items, ScrollPosition::offset, true);
+        var sliceResult = new SliceResult<>(true, null, items.stream()
+                .map(item -> modelMapper.map(item, ItemDetailDto.class))
+                .toList());
+
+        given(itemService.getAllItem(any(ItemSearch.class), eq(ScrollPosition.offset(20)), eq(10), any(Sort.class)))
+                .willReturn(window);
+        given(modelMapperService.toSlice(eq(ItemDetailDto.class), any(Window.class)))
+                .willReturn(sliceResult);
+
+        // When / Act
+        var response = mockMvc.perform(get("/items")
+                .param("count", "false")
+                .param("page", "2"));
+
+        //Then / Assert
+        verify(itemService, never()).getAllItem(any(ItemSearch.class), any(PageRequest.class));
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.totalResults").doesNotExist())
+                .andExpect(jsonPath("$.result").isNotEmpty());
+    }
+
+    @Test
+    void testGivenEmptyCursor_whenGetAllItemAfter_thenReturn200AndSliceResult() throws Exception {
+        // Given / Arrange
+        var items = createItems();
+        var window = Window.from(items, index -> ScrollPosition.keyset(), true);
+        var sliceResult = new SliceResult<>(true, "bmFtZT1SeXplbis3JmlkPTE", items.stream()
+                .map(item -> modelMapper.map(item, ItemDetailDto.class))
+                .toList());
+
+        given(itemService.getAllItem(any(ItemSearch.class), eq(ScrollPosition.keyset()), anyInt(), any(Sort.class)))
+                .willReturn(window);
+        given(modelMapperService.toSlice(eq(ItemDetailDto.class), any(Window.class)))
+                .willReturn(sliceResult);
+
+        // When / Act
+        var response = mockMvc.perform(get("/items").param("after", ""));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(sliceResult.getNextCursor()))
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.result").isNotEmpty());
+    }
+
+    @Test
+    void testGivenInvalidCursor_whenGetAllItemAfter_thenReturn400AndErrorResponse() throws Exception {
+        // Given / Arrange
+
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/items").param("after", "invalid-cursor"));
+
+        //Then / Assert
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid cursor: invalid-cursor."));
+    }
+
+    @Test
+    void testGivenZeroItemsPerPage_whenGetAllItemSlice_thenReturn400AndErrorResponse() throws Exception {
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/items")
+                .param("count", "false")
+                .param("itemsPerPage", "0"));
+
+        //Then / Assert
+        verify(itemService, never())
+                .getAllItem(any(ItemSearch.class), any(ScrollPosition.class), anyInt(), any(Sort.class));
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Items per page must be between 1 and 1000."));
+    }
+
+    @Test
+    void testGivenNegativePage_whenGetAllItemSlice_thenReturn400AndErrorResponse() throws Exception {
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/items")
+                .param("count", "false")
+                .param("page", "-1"));
+
+        //Then / Assert
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Page must be greater than or equal to 0."));
+    }
+
+    @Test
+    void testGivenItemsPerPageAboveMaximum_whenGetAllItemAfter_thenReturn400AndErrorResponse() throws Exception {
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/items")
+                .param("after", "")
+                .param("itemsPerPage", "1001"));
+
+        //Then / Assert
+        verify(itemService, never())
+                .getAllItem(any(ItemSearch.class), any(ScrollPosition.class), anyInt(), any(Sort.class));
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Items per page must be between 1 and 1000."));
+    }
+
+
+    @Test
+    void testGivenCsvFormat_whenItemExport_thenReturn200AndStreamedContent() throws Exception {
+        // Given / Arrange
+        willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("id,name,type,status,price,created_at,updated_at\n".getBytes());
+            return null;
+        }).given(exportService).exportItems(any(ItemSearch.class), eq(ExportFormat.CSV), any());
+
+        // When / Act
+        MvcResult mvcResult = mockMvc.perform(get("/items/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var response = mockMvc.perform(asyncDispatch(mvcResult));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=items.csv"))
+                .andExpect(content().string("id,name,type,status,price,created_at,updated_at\n"));
+        verify(exportService).exportItems(any(ItemSearch.class), eq(ExportFormat.CSV), any());
+    }
+
     private List<Item> createItems() {
         return List.of(Item.builder()
                         .name("Ryzen 7")
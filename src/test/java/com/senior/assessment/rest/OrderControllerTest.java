@@ -4,14 +4,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.senior.assessment.config.mapper.ModelMapperService;
 import com.senior.assessment.domain.config.AssessmentConfigTest;
 import com.senior.assessment.domain.dto.PageResult;
+import com.senior.assessment.domain.dto.SliceResult;
+import com.senior.assessment.domain.dto.order.OrderStatusBatchChangeDto;
+import com.senior.assessment.domain.dto.order.OrderStatusBatchResultDto;
 import com.senior.assessment.domain.dto.order.OrderStatusChangeDto;
 import com.senior.assessment.domain.dto.order.createupdate.OrderCreateUpdateDto;
 import com.senior.assessment.domain.dto.order.createupdate.OrderItemDto;
 import com.senior.assessment.domain.dto.order.detailslist.OrderDetailDto;
+import com.senior.assessment.domain.dto.order.intake.OrderIntakeDto;
+import com.senior.assessment.domain.dto.order.patch.OrderItemsPatchDto;
 import com.senior.assessment.domain.entity.Order;
+import com.senior.assessment.domain.enums.ExportFormat;
 import com.senior.assessment.domain.enums.ItemType;
+import com.senior.assessment.domain.enums.OrderIntakeStatus;
 import com.senior.assessment.domain.enums.OrderStatus;
+import com.senior.assessment.domain.idempotency.IdempotencyService;
+import com.senior.assessment.domain.intake.OrderIntake;
 import com.senior.assessment.domain.querydsl.search.OrderSearch;
+import com.senior.assessment.domain.service.ExportService;
 import com.senior.assessment.domain.service.OrderService;
 import com.senior.assessment.infrastructure.GlobalExceptionHandler;
 import com.senior.assessment.infrastructure.exception.CustomException;
@@ -25,25 +35,40 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(OrderController.class)
 @Import(AssessmentConfigTest.class)
@@ -61,6 +86,15 @@ public class OrderControllerTest {
     @MockBean
     private ModelMapperService modelMapperService;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private OrderIntake orderIntake;
+
     @Autowired
     private ModelMapper modelMapper;
 
@@ -74,6 +108,9 @@ public class OrderControllerTest {
         mockMvc = MockMvcBuilders.standaloneSetup(orderController)
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
+        // Sem chave gravada a operação é executada normalmente
+        given(idempotencyService.execute(anyString(), any(), any(), any(), any()))
+                .willAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
         orderCreateUpdateDto = getOrderCreateUpdateDto();
     }
 
@@ -107,6 +144,33 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.orderItems").isNotEmpty());
     }
 
+    @Test
+    void testGivenRepeatedIdempotencyKey_whenCreateOrder_thenReturnStoredResponseWithoutCreatingOrder() throws Exception {
+        // Given / Arrange
+        var order = modelMapper.map(orderCreateUpdateDto, Order.class);
+        order.setId(UUID.randomUUID());
+        var orderDetailDto = getOrderDetailDto(order);
+
+        given(idempotencyService.execute(eq("POST /orders"), eq("retry-1"), any(OrderCreateUpdateDto.class),
+                eq(OrderDetailDto.class), any()))
+                .willReturn(ResponseEntity.ok()
+                        .header(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER, "true")
+                        .body(orderDetailDto));
+
+        // When / Act
+        var response = mockMvc.perform(post("/orders")
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .content(objectMapper.writeValueAsString(orderCreateUpdateDto))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(order.getId().toString()));
+        verify(orderService, never()).createOrder(any(Order.class));
+    }
+
     @Test
     void testGivenInvalidOrderCreateUpdateDto_whenCreateOrder_thenReturn400AndErrors() throws Exception {
         // Given / Arrange
@@ -123,6 +187,72 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.errors.*").isNotEmpty());
     }
 
+    @Test
+    void testGivenOrderCreateUpdateDto_whenIntakeOrder_thenReturn202AndPendingHandle() throws Exception {
+        // Given / Arrange
+        var handle = UUID.randomUUID();
+        given(orderIntake.submit(any(OrderCreateUpdateDto.class))).willReturn(OrderIntakeDto.builder()
+                .handle(handle)
+                .status(OrderIntakeStatus.PENDING)
+                .build());
+
+        // When / Act
+        var response = mockMvc.perform(post("/orders/intake")
+                .content(objectMapper.writeValueAsString(orderCreateUpdateDto))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/orders/intake/" + handle))
+                .andExpect(jsonPath("$.handle").value(handle.toString()))
+                .andExpect(jsonPath("$.status").value(OrderIntakeStatus.PENDING.name()));
+        verify(orderService, never()).createOrder(any(Order.class));
+    }
+
+    @Test
+    void testGivenFullIntakeQueue_whenIntakeOrder_thenReturn503AndErrorResponse() throws Exception {
+        // Given / Arrange
+        given(orderIntake.submit(any(OrderCreateUpdateDto.class))).willThrow(CustomException.builder()
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .message("Order intake queue is full, try again later.")
+                .build());
+
+        // When / Act
+        var response = mockMvc.perform(post("/orders/intake")
+                .content(objectMapper.writeValueAsString(orderCreateUpdateDto))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Order intake queue is full, try again later."));
+    }
+
+    @Test
+    void testGivenHandle_whenGetIntake_thenReturn200OrNotFound() throws Exception {
+        // Given / Arrange
+        var handle = UUID.randomUUID();
+        var orderId = UUID.randomUUID();
+        given(orderIntake.getResult(handle)).willReturn(Optional.of(OrderIntakeDto.builder()
+                .handle(handle)
+                .status(OrderIntakeStatus.CREATED)
+                .orderId(orderId)
+                .build()));
+
+        // When / Act
+        var response = mockMvc.perform(get("/orders/intake/{handle}", handle)
+                .accept(MediaType.APPLICATION_JSON));
+        var notFoundResponse = mockMvc.perform(get("/orders/intake/{handle}", UUID.randomUUID())
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(OrderIntakeStatus.CREATED.name()))
+                .andExpect(jsonPath("$.orderId").value(orderId.toString()));
+        notFoundResponse.andExpect(status().isNotFound());
+    }
+
     @Test
     void testGivenOrderUpdateCreateDto_whenUpdateOrder_thenReturn200AndOrderDetailDto() throws Exception {
         // Given / Arrange
@@ -224,6 +354,58 @@ public class OrderControllerTest {
     }
 
 
+    @Test
+    void testGivenOrderItemsPatchDto_whenPatchOrderItems_thenReturn200AndOrderDetailDto() throws Exception {
+        // Given / Arrange
+        var orderId = UUID.randomUUID();
+        var orderItemId = UUID.randomUUID();
+        var order = modelMapper.map(orderCreateUpdateDto, Order.class);
+        order.setId(orderId);
+        var orderItemsPatch = new OrderItemsPatchDto(
+                List.of(new OrderItemsPatchDto.OrderItemAddDto(new OrderItemDto.ItemDto(UUID.randomUUID()), 2)),
+                Map.of(orderItemId, 3),
+                Set.of(UUID.randomUUID())
+        );
+
+        given(orderService.patchOrderItems(eq(orderId), any(), eq(Map.of(orderItemId, 3)), any()))
+                .willReturn(order);
+        given(modelMapperService.toObject(eq(OrderDetailDto.class), any(Order.class)))
+                .willReturn(getOrderDetailDto(order));
+
+        // When / Act
+        var response = mockMvc.perform(patch("/orders/{orderId}/items", orderId)
+                .content(objectMapper.writeValueAsString(orderItemsPatch))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(orderId.toString()))
+                .andExpect(jsonPath("$.orderItems").isNotEmpty());
+    }
+
+    @Test
+    void testGivenInvalidOrderItemsPatchDto_whenPatchOrderItems_thenReturn400AndErrors() throws Exception {
+        // Given / Arrange
+        var orderItemsPatch = new OrderItemsPatchDto(
+                List.of(new OrderItemsPatchDto.OrderItemAddDto(null, 0)),
+                Map.of(UUID.randomUUID(), -1),
+                Set.of()
+        );
+
+        // When / Act
+        var response = mockMvc.perform(patch("/orders/{orderId}/items", UUID.randomUUID())
+                .content(objectMapper.writeValueAsString(orderItemsPatch))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        verify(orderService, never()).patchOrderItems(any(), any(), any(), any());
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors.*").isNotEmpty());
+    }
+
     @Test
     void testGivenOrderId_whenDeleteOrderById_thenReturn204() throws Exception {
         // Given / Arrange
@@ -360,6 +542,74 @@ public class OrderControllerTest {
                         .value(String.format("Order %s already %s.", orderId, OrderStatus.CLOSED)));
     }
 
+    @Test
+    void testGivenOrderIdsAndOrderStatus_whenUpdateStatusByIds_thenReturn200AndOrderStatusBatchResultDto()
+            throws Exception {
+        // Given / Arrange
+        var transitionedId = UUID.randomUUID();
+        var missingId = UUID.randomUUID();
+        var orderStatusBatchDto = new OrderStatusBatchChangeDto(Set.of(transitionedId, missingId), OrderStatus.CLOSED);
+
+        given(orderService.updateStatus(eq(Set.of(transitionedId, missingId)), eq(OrderStatus.CLOSED)))
+                .willReturn(OrderStatusBatchResultDto.builder()
+                        .transitioned(Set.of(transitionedId))
+                        .missing(Set.of(missingId))
+                        .build());
+
+        // When / Act
+        var response = mockMvc.perform(patch("/orders/status")
+                .content(objectMapper.writeValueAsString(orderStatusBatchDto))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned[0]").value(transitionedId.toString()))
+                .andExpect(jsonPath("$.skipped").isEmpty())
+                .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+    }
+
+    @Test
+    void testGivenTooManyOrderIds_whenUpdateStatusByIds_thenReturn400AndErrorResponse() throws Exception {
+        // Given / Arrange
+        var orderIds = Stream.generate(UUID::randomUUID)
+                .limit(OrderStatusBatchChangeDto.MAX_IDS + 1)
+                .collect(Collectors.toSet());
+        var orderStatusBatchDto = new OrderStatusBatchChangeDto(orderIds, OrderStatus.CLOSED);
+
+        // When / Act
+        var response = mockMvc.perform(patch("/orders/status")
+                .content(objectMapper.writeValueAsString(orderStatusBatchDto))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        verify(orderService, never()).updateStatus(anySet(), any(OrderStatus.class));
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors.ids").isNotEmpty());
+    }
+
+    @Test
+    void testGivenOrderSearchAndInvalidOrderStatus_whenUpdateStatusBySearch_thenReturn400AndErrorResponse()
+            throws Exception {
+        // Given / Arrange
+        var orderStatusChange = new OrderStatusChangeDto(OrderStatus.OPENED);
+
+        // When / Act
+        var response = mockMvc.perform(patch("/orders/status/search")
+                .param("itemType", ItemType.SERVICE.name())
+                .content(objectMapper.writeValueAsString(orderStatusChange))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        //Then / Assert
+        verify(orderService, never()).updateStatus(any(OrderSearch.class), any(OrderStatus.class));
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors.*").isNotEmpty());
+    }
+
     @Test
     void testGivenOrderId_whenGetOrderById_thenReturn204AndOrderDetailDto() throws Exception {
         // Given / Arrange
@@ -444,6 +694,140 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.totalResults").value(0))
                 .andExpect(jsonPath("$.result").isEmpty());
     }
+    @Test
+    void testGivenCountFalse_whenGetAllOrderSlice_thenReturn200AndSliceResultWithoutTotals() throws Exception {
+        // Given / Arrange
+        var page = createPage();
+        var window = Window.from(page.getContent(), ScrollPosition::offset, false);
+        var sliceResult = new SliceResult<>(false, null, page.getContent().stream()
+                .map(this::getOrderDetailDto)
+                .toList());
+
+        given(orderService.getAllOrder(any(OrderSearch.class), eq(ScrollPosition.offset()), eq(10), any(Sort.class)))
+                .willReturn(window);
+        given(modelMapperService.toSlice(eq(OrderDetailDto.class), any(Window.class)))
+                .willReturn(sliceResult);
+
+        // When / Act
+        var response = mockMvc.perform(get("/orders").param("count", "false"));
+
+        //Then / Assert
+        verify(orderService, never()).getAllOrder(any(OrderSearch.class), any(PageRequest.class));
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.totalResults").doesNotExist())
+                .andExpect(jsonPath("$.result").isNotEmpty());
+    }
+
+    @Test
+    void testGivenCursor_whenGetAllOrderAfter_thenReturn200AndSliceResult() throws Exception {
+        // Given / Arrange
+        var page = createPage();
+        var window = Window.from(page.getContent(), index -> ScrollPosition.keyset(), false);
+        var sliceResult = new SliceResult<>(false, null, page.getContent().stream()
+                .map(this::getOrderDetailDto)
+                .toList());
+
+        given(orderService.getAllOrder(any(OrderSearch.class), any(ScrollPosition.class), anyInt(), any(Sort.class)))
+                .willReturn(window);
+        given(modelMapperService.toSlice(eq(OrderDetailDto.class), any(Window.class)))
+                .willReturn(sliceResult);
+
+        // When / Act
+        var response = mockMvc.perform(get("/orders").param("after", ""));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.totalResults").doesNotExist())
+                .andExpect(jsonPath("$.result").isNotEmpty());
+    }
+
+    @Test
+    void testGivenCursorWithOtherSort_whenGetAllOrderAfter_thenReturn400AndErrorResponse() throws Exception {
+        // Given / Arrange
+        var cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id=" + UUID.randomUUID()).getBytes());
+
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/orders")
+                .param("after", cursor)
+                .param("sortName", "createdDate"));
+
+        //Then / Assert
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value(String.format("Invalid cursor: %s.", cursor)));
+    }
+
+    @Test
+    void testGivenZeroItemsPerPage_whenGetAllOrderSlice_thenReturn400AndErrorResponse() throws Exception {
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/orders")
+                .param("count", "false")
+                .param("itemsPerPage", "0"));
+
+        //Then / Assert
+        verify(orderService, never())
+                .getAllOrder(any(OrderSearch.class), any(ScrollPosition.class), anyInt(), any(Sort.class));
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Items per page must be between 1 and 1000."));
+    }
+
+    @Test
+    void testGivenNegativePage_whenGetAllOrderSlice_thenReturn400AndErrorResponse() throws Exception {
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/orders")
+                .param("count", "false")
+                .param("page", "-1"));
+
+        //Then / Assert
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Page must be greater than or equal to 0."));
+    }
+
+    @Test
+    void testGivenItemsPerPageAboveMaximum_whenGetAllOrderAfter_thenReturn400AndErrorResponse() throws Exception {
+        // When / Act
+        var errorResponse = mockMvc.perform(get("/orders")
+                .param("after", "")
+                .param("itemsPerPage", "1001"));
+
+        //Then / Assert
+        verify(orderService, never())
+                .getAllOrder(any(OrderSearch.class), any(ScrollPosition.class), anyInt(), any(Sort.class));
+        errorResponse.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Items per page must be between 1 and 1000."));
+    }
+
+
+    @Test
+    void testGivenNdjsonFormat_whenOrderExport_thenReturn200AndStreamedContent() throws Exception {
+        // Given / Arrange
+        willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("{\"status\":\"OPENED\"}\n".getBytes());
+            return null;
+        }).given(exportService).exportOrders(any(OrderSearch.class), eq(ExportFormat.NDJSON), any());
+
+        // When / Act
+        MvcResult mvcResult = mockMvc.perform(get("/orders/export").param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var response = mockMvc.perform(asyncDispatch(mvcResult));
+
+        //Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=orders.ndjson"))
+                .andExpect(content().string("{\"status\":\"OPENED\"}\n"));
+        verify(exportService).exportOrders(any(OrderSearch.class), eq(ExportFormat.NDJSON), any());
+    }
+
     private OrderDetailDto getOrderDetailDto(Order order) {
         var orderDetailDto = modelMapper.map(order, OrderDetailDto.class);
         IntStream.rangeClosed(0, orderDetailDto.getOrderItems().size() - 1)
@@ -457,9 +841,22 @@ public class OrderControllerTest {
                         orderItemDetailDto.setItemPrice(BigDecimal.valueOf(100.00));
                     }
                 });
+        orderDetailDto.setTotalProduct(calculateTotal(orderDetailDto, ItemType.PRODUCT)
+                .multiply(BigDecimal.valueOf(1 - orderDetailDto.getDiscount()))
+                .setScale(2, RoundingMode.HALF_UP));
+        orderDetailDto.setTotalService(calculateTotal(orderDetailDto, ItemType.SERVICE)
+                .setScale(2, RoundingMode.HALF_UP));
+        orderDetailDto.setTotal(orderDetailDto.getTotalProduct().add(orderDetailDto.getTotalService()));
         return orderDetailDto;
     }
 
+    private BigDecimal calculateTotal(OrderDetailDto orderDetailDto, ItemType itemType) {
+        return orderDetailDto.getOrderItems().stream()
+                .filter(orderItem -> orderItem.getItem().getType() == itemType)
+                .map(orderItem -> orderItem.getItemPrice().multiply(BigDecimal.valueOf(orderItem.getAmount())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
     private OrderCreateUpdateDto getOrderCreateUpdateDto() {
         var orderItemsDto = new HashSet<OrderItemDto>();
         IntStream.rangeClosed(0, 1)